@@ -0,0 +1,218 @@
+package dfh.json.simple.bench;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import dfh.json.simple.Converter;
+
+/**
+ * Reads the JSON results of a JMH run made with the GC profiler,
+ * {@code -prof gc}, reports the bytes allocated per operation and per byte of
+ * input for each benchmark, and compares the former against a stored
+ * baseline. Run via {@code ant bench-alloc}.
+ * <p>
+ * Arguments: the results file, the baseline file, the fraction by which
+ * allocation may grow before it counts as a regression, and optionally
+ * {@code update} to replace the baseline with the results. A benchmark with
+ * no baseline, as on a checkout lacking the baseline file, fails the check
+ * rather than setting its own baseline, so the gate cannot pass unnoticed;
+ * record a baseline on the reference machine with {@code update}. The exit
+ * status is 1 if any benchmark regressed or lacks a baseline.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class AllocationReport {
+	/**
+	 * suffix of the name of the GC profiler's bytes per operation metric;
+	 * older versions of JMH prefix it with a middle dot
+	 */
+	private static final String METRIC = "gc.alloc.rate.norm";
+	/**
+	 * growth in bytes per operation ignored whatever the threshold, so
+	 * benchmarks that allocate almost nothing do not fail on noise
+	 */
+	private static final double SLACK = 64;
+	private static final Map<Corpus, Long> SIZES = new EnumMap<Corpus, Long>(
+			Corpus.class);
+
+	/**
+	 * @param args
+	 *            results file, baseline file, threshold, and optionally
+	 *            {@code update}
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("usage: AllocationReport <results.json> "
+					+ "<baseline.properties> <threshold> [update]");
+			System.exit(2);
+		}
+		Map<String, Double> results = results(new File(args[0]));
+		File baselineFile = new File(args[1]);
+		double threshold = Double.parseDouble(args[2]);
+		boolean update = args.length > 3 && args[3].equals("update");
+		Properties baseline = new Properties();
+		if (baselineFile.exists()) {
+			InputStream in = new FileInputStream(baselineFile);
+			try {
+				baseline.load(in);
+			} finally {
+				in.close();
+			}
+		}
+		int regressions = 0, missing = 0;
+		System.out.printf("%-50s %14s %10s %14s%n", "benchmark", "B/op",
+				"B/byte", "baseline B/op");
+		for (Entry<String, Double> e : results.entrySet()) {
+			String name = e.getKey();
+			double bytes = e.getValue();
+			long input = inputBytes(name);
+			String perByte = input > 0 ? String.format("%10.2f", bytes / input)
+					: String.format("%10s", "-");
+			String old = baseline.getProperty(name);
+			String flag = "";
+			if (old == null) {
+				if (!update) {
+					flag = "  NO BASELINE";
+					missing++;
+				}
+			} else {
+				double limit = Double.parseDouble(old);
+				if (bytes > limit * (1 + threshold) && bytes - limit > SLACK) {
+					flag = "  REGRESSION";
+					regressions++;
+				}
+			}
+			System.out.printf("%-50s %14.0f %s %14s%s%n", name, bytes, perByte,
+					old == null ? "-" : old, flag);
+			if (update)
+				baseline.setProperty(name, String.format("%.0f", bytes));
+		}
+		if (update) {
+			OutputStream out = new FileOutputStream(baselineFile);
+			try {
+				// allocation depends on the JVM, so record which one measured it
+				baseline.store(out, String.format(
+						"bytes allocated per operation; written by ant bench-alloc"
+								+ " on %s %s, %s %s, %d processors",
+						System.getProperty("java.vm.name"),
+						System.getProperty("java.version"),
+						System.getProperty("os.name"),
+						System.getProperty("os.arch"), Runtime.getRuntime()
+								.availableProcessors()));
+			} finally {
+				out.close();
+			}
+			System.out.println("baseline written to " + baselineFile);
+			return;
+		}
+		if (regressions > 0)
+			System.out.printf(
+					"%d benchmark(s) allocate more than %.0f%% over baseline%n",
+					regressions, threshold * 100);
+		if (missing > 0)
+			System.out.printf("%d benchmark(s) have no baseline in %s; "
+					+ "rerun with -Dalloc.update=update to record one%n",
+					missing, baselineFile);
+		if (regressions > 0 || missing > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * @param file
+	 *            JMH results in JSON
+	 * @return bytes allocated per operation by benchmark name
+	 * @throws IOException
+	 */
+	private static Map<String, Double> results(File file) throws IOException {
+		Reader r = new InputStreamReader(new FileInputStream(file), "UTF-8");
+		List<?> runs;
+		try {
+			runs = (List<?>) Converter.convert(r);
+		} finally {
+			r.close();
+		}
+		Map<String, Double> results = new TreeMap<String, Double>();
+		for (Object o : runs) {
+			Map<?, ?> run = (Map<?, ?>) o;
+			Map<?, ?> metrics = (Map<?, ?>) run.get("secondaryMetrics");
+			if (metrics == null)
+				continue;
+			for (Entry<?, ?> e : metrics.entrySet()) {
+				if (e.getKey().toString().endsWith(METRIC)) {
+					Number score = (Number) ((Map<?, ?>) e.getValue())
+							.get("score");
+					results.put(name(run), score.doubleValue());
+				}
+			}
+		}
+		if (results.isEmpty())
+			throw new IllegalArgumentException("no " + METRIC + " in " + file
+					+ "; was JMH run with -prof gc?");
+		return results;
+	}
+
+	/**
+	 * @param run
+	 *            one benchmark's results
+	 * @return the benchmark's class and method with any parameters, such as
+	 *         {@code ConverterBenchmark.parse[corpus=API]}
+	 */
+	private static String name(Map<?, ?> run) {
+		String benchmark = run.get("benchmark").toString();
+		int i = benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1);
+		StringBuilder b = new StringBuilder(benchmark.substring(i + 1));
+		Map<?, ?> params = (Map<?, ?>) run.get("params");
+		if (params != null && !params.isEmpty()) {
+			b.append('[');
+			boolean nonInitial = false;
+			for (Entry<?, ?> e : params.entrySet()) {
+				if (nonInitial)
+					b.append(',');
+				else
+					nonInitial = true;
+				b.append(e.getKey()).append('=').append(e.getValue());
+			}
+			b.append(']');
+		}
+		return b.toString();
+	}
+
+	/**
+	 * @param name
+	 *            benchmark name as given by {@link #name(Map)}
+	 * @return size in UTF-8 of the compact JSON of the benchmark's corpus, or
+	 *         0 if it has none
+	 * @throws IOException
+	 */
+	private static long inputBytes(String name) throws IOException {
+		int i = name.indexOf("corpus=");
+		if (i == -1)
+			return 0;
+		int end = name.indexOf(',', i);
+		if (end == -1)
+			end = name.indexOf(']', i);
+		Corpus corpus = Corpus.valueOf(name.substring(i + 7, end));
+		Long size = SIZES.get(corpus);
+		if (size == null) {
+			size = (long) corpus.json().getBytes("UTF-8").length;
+			SIZES.put(corpus, size);
+		}
+		return size;
+	}
+}
@@ -0,0 +1,89 @@
+package dfh.json.simple.bench;
+
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dfh.json.simple.Converter;
+
+/**
+ * Times the {@link Converter} entry points on each {@link Corpus}: parsing
+ * from a string, UTF-8 bytes, and a reader, serialization compact and pretty,
+ * and reformatting with
+ * {@link Converter#compress(String)} and {@link Converter#pretty(String)}.
+ * Run via {@code ant bench}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+	@Param({ "API", "NUMBERS", "NESTED", "ESCAPES", "UNICODE" })
+	public Corpus corpus;
+
+	private String json, pretty;
+	private byte[] utf8;
+	private Object value;
+
+	@Setup
+	public void setup() throws UnsupportedEncodingException {
+		value = corpus.value();
+		json = Corpus.serialize(value, -1);
+		utf8 = json.getBytes("UTF-8");
+		pretty = Corpus.serialize(value, Converter.DEFAULT_INDENTATION);
+	}
+
+	@Benchmark
+	public Object parse() {
+		return Converter.convert(json);
+	}
+
+	@Benchmark
+	public Object parseUTF8() {
+		return Converter.convertUTF8(utf8);
+	}
+
+	@Benchmark
+	public Object parseReader() {
+		return Converter.convert(new StringReader(json));
+	}
+
+	@Benchmark
+	public String serialize() {
+		return Corpus.serialize(value, -1);
+	}
+
+	@Benchmark
+	public String serializePretty() {
+		return Corpus.serialize(value, Converter.DEFAULT_INDENTATION);
+	}
+
+	@Benchmark
+	public String compress() {
+		return Converter.compress(pretty);
+	}
+
+	@Benchmark
+	public String pretty() {
+		return Converter.pretty(json);
+	}
+}
@@ -0,0 +1,150 @@
+package dfh.json.simple.bench;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import dfh.json.simple.Converter;
+
+/**
+ * Documents on which the benchmarks are run. Each is generated from a fixed
+ * seed, so every run sees the same text.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public enum Corpus {
+	/**
+	 * a small web API response: a page of records with a few fields each
+	 */
+	API {
+		@Override
+		Object build(Random r) {
+			Map<String, Object> response = new LinkedHashMap<String, Object>();
+			response.put("status", "ok");
+			response.put("page", 3);
+			response.put("next", "https://example.com/api/v2/users?page=4");
+			List<Object> users = new ArrayList<Object>();
+			for (int i = 0; i < 10; i++) {
+				Map<String, Object> user = new LinkedHashMap<String, Object>();
+				user.put("id", r.nextInt(1000000));
+				user.put("name", "user" + r.nextInt(10000));
+				user.put("active", r.nextBoolean());
+				user.put("score", r.nextInt(10000) / 100.0);
+				user.put("manager", null);
+				List<Object> tags = new ArrayList<Object>();
+				tags.add("tag" + r.nextInt(20));
+				tags.add("tag" + r.nextInt(20));
+				user.put("tags", tags);
+				users.add(user);
+			}
+			response.put("users", users);
+			return response;
+		}
+	},
+	/**
+	 * a long array of integers and doubles
+	 */
+	NUMBERS {
+		@Override
+		Object build(Random r) {
+			List<Object> list = new ArrayList<Object>();
+			for (int i = 0; i < 100000; i++)
+				list.add(i % 2 == 0 ? (Object) r.nextInt() : (Object) (r
+						.nextGaussian() * 1000));
+			return list;
+		}
+	},
+	/**
+	 * objects nested two hundred deep, each with a few scalar members
+	 */
+	NESTED {
+		@Override
+		Object build(Random r) {
+			Map<String, Object> map = null;
+			for (int i = 0; i < 200; i++) {
+				Map<String, Object> m = new LinkedHashMap<String, Object>();
+				m.put("depth", 200 - i);
+				m.put("label", "level " + r.nextInt(1000));
+				m.put("flag", i % 2 == 0);
+				if (map != null)
+					m.put("child", map);
+				map = m;
+			}
+			return map;
+		}
+	},
+	/**
+	 * strings full of quotes, backslashes, slashes, and control characters
+	 */
+	ESCAPES {
+		@Override
+		Object build(Random r) {
+			List<Object> list = new ArrayList<Object>();
+			for (int i = 0; i < 10000; i++)
+				list.add("line\t\"" + r.nextInt() + "\"\nC:\\temp\\"
+						+ r.nextInt() + " </script>\r\n");
+			return list;
+		}
+	},
+	/**
+	 * keys and values in accented Latin, Greek, CJK, and characters outside
+	 * the basic multilingual plane, like those in test/problem_unicode.txt
+	 */
+	UNICODE {
+		@Override
+		Object build(Random r) {
+			String[] pieces = { "fromsãâ¤vsjãâ¶", "αβγδε", "日本語テキスト",
+					"😀👍", "naïve café", "ascii" };
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			for (int i = 0; i < 5000; i++) {
+				StringBuilder b = new StringBuilder();
+				for (int j = 0, n = 1 + r.nextInt(4); j < n; j++)
+					b.append(pieces[r.nextInt(pieces.length)]);
+				map.put(pieces[i % pieces.length] + i, b.toString());
+			}
+			return map;
+		}
+	};
+
+	private static final long SEED = 19;
+
+	/**
+	 * @param r
+	 *            source of variety
+	 * @return the document as Java objects
+	 */
+	abstract Object build(Random r);
+
+	/**
+	 * @return the document as Java objects
+	 */
+	public Object value() {
+		return build(new Random(SEED + ordinal()));
+	}
+
+	/**
+	 * @return the document as compact JSON
+	 */
+	public String json() {
+		return serialize(value(), -1);
+	}
+
+	/**
+	 * @param value
+	 *            a map or list
+	 * @param indent
+	 *            indentation size in spaces; if this is less than 0, there will
+	 *            be no indentation
+	 * @return JSON
+	 */
+	static String serialize(Object value, int indent) {
+		if (value instanceof Map<?, ?>)
+			return Converter.convert((Map<?, ?>) value, indent);
+		return Converter.convert((List<?>) value, indent);
+	}
+}
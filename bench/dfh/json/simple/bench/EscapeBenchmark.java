@@ -0,0 +1,133 @@
+package dfh.json.simple.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dfh.json.simple.SerializeOptions;
+import dfh.json.simple.Serializer;
+
+/**
+ * Times string escaping during serialization: the character-at-a-time switch
+ * formerly used by {@link dfh.json.simple.Converter}, reproduced here as a
+ * baseline, against the table-driven escaping of {@link Serializer} with and
+ * without escaping '/'. Run via {@code ant bench}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EscapeBenchmark {
+	private final List<String> strings = strings();
+	private final Serializer tables = new Serializer(),
+			slashes = new Serializer(new SerializeOptions().escapeSlash(false));
+
+	@Benchmark
+	public String switchEscapes() {
+		return legacy(strings);
+	}
+
+	@Benchmark
+	public String tableEscapes() {
+		return tables.serialize(strings);
+	}
+
+	@Benchmark
+	public String tableEscapesSlashUnescaped() {
+		return slashes.serialize(strings);
+	}
+
+	/**
+	 * @return a mix of URLs, prose, and text with quotes and control
+	 *         characters
+	 */
+	private static List<String> strings() {
+		Random r = new Random(14);
+		List<String> strings = new ArrayList<String>();
+		for (int i = 0; i < 20000; i++) {
+			switch (i % 3) {
+			case 0:
+				strings.add("https://example.com/api/v2/items/" + r.nextInt()
+						+ "/images/thumb.png");
+				break;
+			case 1:
+				strings.add("The quick brown fox jumps over the lazy dog "
+						+ r.nextInt());
+				break;
+			default:
+				strings.add("line\t\"" + r.nextInt() + "\"\nC:\\temp\\"
+						+ r.nextInt());
+			}
+		}
+		return strings;
+	}
+
+	/**
+	 * Serializes a list of strings escaping one character at a time, as was
+	 * done before escaping was table-driven.
+	 */
+	private static String legacy(List<String> strings) {
+		StringBuilder b = new StringBuilder();
+		b.append('[');
+		boolean nonInitial = false;
+		for (String s : strings) {
+			if (nonInitial)
+				b.append(',');
+			else
+				nonInitial = true;
+			b.append('"');
+			for (int i = 0; i < s.length(); i++) {
+				char c = s.charAt(i);
+				switch (c) {
+				case '\n':
+					b.append("\\n");
+					break;
+				case '\r':
+					b.append("\\r");
+					break;
+				case '\t':
+					b.append("\\t");
+					break;
+				case '\f':
+					b.append("\\f");
+					break;
+				case '\b':
+					b.append("\\b");
+					break;
+				case '\\':
+					b.append("\\\\");
+					break;
+				case '/':
+					b.append("\\/");
+					break;
+				case '"':
+					b.append("\\\"");
+					break;
+				default:
+					b.append(c);
+				}
+			}
+			b.append('"');
+		}
+		b.append(']');
+		return b.toString();
+	}
+}
@@ -1,14 +1,20 @@
 package dfh.json.simple;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.TreeMap;
 
 import dfh.grammar.Grammar;
 import dfh.grammar.Match;
@@ -56,6 +62,21 @@ public class Converter {
 	 */
 	public static final int DEFAULT_INDENTATION = 3;
 
+	/**
+	 * Parsing engines available to {@link Converter#convert(String, Engine)}.
+	 */
+	public enum Engine {
+		/**
+		 * Hand-written single-pass recursive descent parser; the default
+		 */
+		DESCENT,
+		/**
+		 * Parser generated from {@link Converter#JSON_RULES}; slower, but
+		 * useful as a reference
+		 */
+		GRAMMAR
+	}
+
 	private Converter() {
 	}
 
@@ -86,7 +107,7 @@ public class Converter {
 	 */
 	public static String convert(Map<?, ?> map, int indent)
 			throws JSONSimpleException {
-		StringBuilder b = new StringBuilder();
+		Output b = new Output();
 		convert(map, b, indent, 0);
 		return b.toString();
 	}
@@ -126,7 +147,7 @@ public class Converter {
 	 * @throws JSONSimpleException
 	 */
 	public static String convert(int[] list) throws JSONSimpleException {
-		return convert(objectify(list), -1);
+		return basic(list, -1);
 	}
 
 	/**
@@ -143,7 +164,7 @@ public class Converter {
 	 */
 	public static String convert(int[] list, int indent)
 			throws JSONSimpleException {
-		return convert(objectify(list), indent);
+		return basic(list, indent);
 	}
 
 	/**
@@ -155,7 +176,7 @@ public class Converter {
 	 * @throws JSONSimpleException
 	 */
 	public static String convert(short[] list) throws JSONSimpleException {
-		return convert(objectify(list), -1);
+		return basic(list, -1);
 	}
 
 	/**
@@ -172,7 +193,7 @@ public class Converter {
 	 */
 	public static String convert(short[] list, int indent)
 			throws JSONSimpleException {
-		return convert(objectify(list), indent);
+		return basic(list, indent);
 	}
 
 	/**
@@ -184,7 +205,7 @@ public class Converter {
 	 * @throws JSONSimpleException
 	 */
 	public static String convert(boolean[] list) throws JSONSimpleException {
-		return convert(objectify(list), -1);
+		return basic(list, -1);
 	}
 
 	/**
@@ -201,7 +222,7 @@ public class Converter {
 	 */
 	public static String convert(boolean[] list, int indent)
 			throws JSONSimpleException {
-		return convert(objectify(list), indent);
+		return basic(list, indent);
 	}
 
 	/**
@@ -214,7 +235,7 @@ public class Converter {
 	 * @throws JSONSimpleException
 	 */
 	public static String convert(char[] list) throws JSONSimpleException {
-		return convert(objectify(list), -1);
+		return basic(list, -1);
 	}
 
 	/**
@@ -231,7 +252,7 @@ public class Converter {
 	 */
 	public static String convert(char[] list, int indent)
 			throws JSONSimpleException {
-		return convert(objectify(list), indent);
+		return basic(list, indent);
 	}
 
 	/**
@@ -243,7 +264,7 @@ public class Converter {
 	 * @throws JSONSimpleException
 	 */
 	public static String convert(long[] list) throws JSONSimpleException {
-		return convert(objectify(list), -1);
+		return basic(list, -1);
 	}
 
 	/**
@@ -260,7 +281,7 @@ public class Converter {
 	 */
 	public static String convert(long[] list, int indent)
 			throws JSONSimpleException {
-		return convert(objectify(list), indent);
+		return basic(list, indent);
 	}
 
 	/**
@@ -272,7 +293,7 @@ public class Converter {
 	 * @throws JSONSimpleException
 	 */
 	public static String convert(double[] list) throws JSONSimpleException {
-		return convert(objectify(list), -1);
+		return basic(list, -1);
 	}
 
 	/**
@@ -289,7 +310,7 @@ public class Converter {
 	 */
 	public static String convert(double[] list, int indent)
 			throws JSONSimpleException {
-		return convert(objectify(list), indent);
+		return basic(list, indent);
 	}
 
 	/**
@@ -301,7 +322,7 @@ public class Converter {
 	 * @throws JSONSimpleException
 	 */
 	public static String convert(float[] list) throws JSONSimpleException {
-		return convert(objectify(list), -1);
+		return basic(list, -1);
 	}
 
 	/**
@@ -318,7 +339,7 @@ public class Converter {
 	 */
 	public static String convert(float[] list, int indent)
 			throws JSONSimpleException {
-		return convert(objectify(list), indent);
+		return basic(list, indent);
 	}
 
 	/**
@@ -331,7 +352,7 @@ public class Converter {
 	 * @throws JSONSimpleException
 	 */
 	public static String convert(byte[] list) throws JSONSimpleException {
-		return convert(objectify(list), -1);
+		return basic(list, -1);
 	}
 
 	/**
@@ -348,7 +369,7 @@ public class Converter {
 	 */
 	public static String convert(byte[] list, int indent)
 			throws JSONSimpleException {
-		return convert(objectify(list), indent);
+		return basic(list, indent);
 	}
 
 	/**
@@ -365,7 +386,7 @@ public class Converter {
 	 */
 	public static String convert(Object[] list, int indent)
 			throws JSONSimpleException {
-		StringBuilder b = new StringBuilder();
+		Output b = new Output();
 		convert(list, b, indent, 0);
 		return b.toString();
 	}
@@ -384,11 +405,86 @@ public class Converter {
 	 */
 	public static <K extends Collection<?>> String convert(K collection,
 			int indent) throws JSONSimpleException {
-		StringBuilder b = new StringBuilder();
-		convert(new ArrayList<Object>(collection), b, indent, 0);
+		Output b = new Output();
+		if (collection instanceof List<?>)
+			convert((List<?>) collection, b, indent, 0);
+		else
+			convert(new ArrayList<Object>(collection), b, indent, 0);
 		return b.toString();
 	}
 
+	/**
+	 * Writes a Java {@link Map} as a JSON object to the given destination.
+	 * Output is passed on in chunks as it is generated rather than being
+	 * accumulated in a single string.
+	 * 
+	 * @param map
+	 *            {@link Map}, keys will be stringified
+	 * @param out
+	 *            destination of JSON; it is not flushed or closed
+	 * @param indent
+	 *            amount nested values are to be indented relative to their
+	 *            context; if this is less than 0, there will be no indentation
+	 * @throws JSONSimpleException
+	 *             if the conversion is impossible or the output cannot be
+	 *             written
+	 */
+	public static void convert(Map<?, ?> map, Appendable out, int indent)
+			throws JSONSimpleException {
+		Output b = new Output(out);
+		convert(map, b, indent, 0);
+		b.flush();
+	}
+
+	/**
+	 * Writes a Java {@link Collection} as a JSON list to the given
+	 * destination. Output is passed on in chunks as it is generated rather
+	 * than being accumulated in a single string.
+	 * 
+	 * @param collection
+	 *            {@link Collection} of objects
+	 * @param out
+	 *            destination of JSON; it is not flushed or closed
+	 * @param indent
+	 *            number of spaces to indent nested values; if this is less than
+	 *            0, there will be no indentation
+	 * @throws JSONSimpleException
+	 *             if the conversion is impossible or the output cannot be
+	 *             written
+	 */
+	public static void convert(Collection<?> collection, Appendable out,
+			int indent) throws JSONSimpleException {
+		Output b = new Output(out);
+		if (collection instanceof List<?>)
+			convert((List<?>) collection, b, indent, 0);
+		else
+			convert(new ArrayList<Object>(collection), b, indent, 0);
+		b.flush();
+	}
+
+	/**
+	 * Writes a Java object array as a JSON list to the given destination.
+	 * Output is passed on in chunks as it is generated rather than being
+	 * accumulated in a single string.
+	 * 
+	 * @param list
+	 *            array of objects
+	 * @param out
+	 *            destination of JSON; it is not flushed or closed
+	 * @param indent
+	 *            amount to indent nested values; if this is less than 0, there
+	 *            will be no indentation
+	 * @throws JSONSimpleException
+	 *             if the conversion is impossible or the output cannot be
+	 *             written
+	 */
+	public static void convert(Object[] list, Appendable out, int indent)
+			throws JSONSimpleException {
+		Output b = new Output(out);
+		convert(list, b, indent, 0);
+		b.flush();
+	}
+
 	/**
 	 * Converts a JSON string to either a map from strings to objects or a list
 	 * of objects.
@@ -399,6 +495,472 @@ public class Converter {
 	 * @throws JSONSimpleException
 	 */
 	public static Object convert(String json) throws JSONSimpleException {
+		return convert(json, Engine.DESCENT);
+	}
+
+	/**
+	 * Converts a JSON string to either a map from strings to objects or a list
+	 * of objects using the specified parsing engine.
+	 * 
+	 * @param json
+	 *            string to parse
+	 * @param engine
+	 *            parsing engine
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 */
+	public static Object convert(String json, Engine engine)
+			throws JSONSimpleException {
+		return convert(json, new ParseOptions().engine(engine));
+	}
+
+	/**
+	 * Converts a JSON string to either a map from strings to objects or a list
+	 * of objects according to the given options.
+	 * 
+	 * @param json
+	 *            string to parse
+	 * @param options
+	 *            parsing settings
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 */
+	public static Object convert(String json, ParseOptions options)
+			throws JSONSimpleException {
+		switch (options.lazy() ? Engine.DESCENT : options.engine()) {
+		case GRAMMAR:
+			return convertWithGrammar(json, options);
+		default:
+			StringParser p = new StringParser(json);
+			p.options = options;
+			return p.parse();
+		}
+	}
+
+	/**
+	 * Converts a JSON document read from a {@link Reader} to either a map from
+	 * strings to objects or a list of objects. The document is parsed
+	 * incrementally via a {@link JSONReader}, so the text is never held in
+	 * memory in its entirety. The reader is not closed.
+	 * 
+	 * @param reader
+	 *            source of JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 */
+	public static Object convert(Reader reader) throws JSONSimpleException {
+		JSONReader r = new JSONReader(reader);
+		r.next();
+		Object o = r.value();
+		r.next();
+		return o;
+	}
+
+	/**
+	 * Converts a UTF-8 encoded JSON document read from an {@link InputStream}
+	 * to either a map from strings to objects or a list of objects. The stream
+	 * is not closed.
+	 * 
+	 * @param in
+	 *            source of JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 */
+	public static Object convert(InputStream in) throws JSONSimpleException {
+		return convert(new InputStreamReader(in, JSONReader.UTF8));
+	}
+
+	/**
+	 * Converts UTF-8 encoded JSON to either a map from strings to objects or a
+	 * list of objects. The bytes are parsed directly; only string values and
+	 * keys are decoded.
+	 * 
+	 * @param json
+	 *            UTF-8 encoded JSON
+	 * @param offset
+	 *            offset of the first byte of JSON
+	 * @param length
+	 *            number of bytes of JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 */
+	public static Object convertUTF8(byte[] json, int offset, int length)
+			throws JSONSimpleException {
+		return convertUTF8(json, offset, length, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Converts UTF-8 encoded JSON to either a map from strings to objects or a
+	 * list of objects according to the given options. The engine setting is
+	 * ignored; bytes are always parsed directly.
+	 * 
+	 * @param json
+	 *            UTF-8 encoded JSON
+	 * @param offset
+	 *            offset of the first byte of JSON
+	 * @param length
+	 *            number of bytes of JSON
+	 * @param options
+	 *            representation of numbers
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 */
+	public static Object convertUTF8(byte[] json, int offset, int length,
+			ParseOptions options) throws JSONSimpleException {
+		Utf8Parser p = new Utf8Parser(json, offset, length);
+		p.options = options;
+		return p.parse();
+	}
+
+	/**
+	 * Converts UTF-8 encoded JSON to either a map from strings to objects or a
+	 * list of objects. The bytes are parsed directly; only string values and
+	 * keys are decoded.
+	 * 
+	 * @param json
+	 *            UTF-8 encoded JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 */
+	public static Object convertUTF8(byte[] json) throws JSONSimpleException {
+		return convertUTF8(json, 0, json.length);
+	}
+
+	/**
+	 * Converts the UTF-8 encoded JSON between a buffer's position and limit
+	 * to either a map from strings to objects or a list of objects. The bytes
+	 * are parsed in place, whether or not the buffer is direct; only string
+	 * values and keys are decoded. The buffer's position is not changed.
+	 * 
+	 * @param json
+	 *            UTF-8 encoded JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 */
+	public static Object convert(ByteBuffer json) throws JSONSimpleException {
+		return convert(json, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Converts the UTF-8 encoded JSON between a buffer's position and limit
+	 * to either a map from strings to objects or a list of objects according
+	 * to the given options. The engine setting is ignored; bytes are always
+	 * parsed directly. The buffer's position is not changed.
+	 * 
+	 * @param json
+	 *            UTF-8 encoded JSON
+	 * @param options
+	 *            representation of numbers
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 */
+	public static Object convert(ByteBuffer json, ParseOptions options)
+			throws JSONSimpleException {
+		Utf8Parser p = new Utf8Parser(json);
+		p.options = options;
+		return p.parse();
+	}
+
+	/**
+	 * Converts the UTF-8 encoded JSON document in a file to either a map from
+	 * strings to objects or a list of objects. The file is memory-mapped and
+	 * parsed in place, so its contents are never copied onto the heap.
+	 * 
+	 * @param path
+	 *            file of UTF-8 encoded JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 *             if the file cannot be read or is not well-formed JSON
+	 * @see #convert(Path, ParseOptions)
+	 */
+	public static Object convert(Path path) throws JSONSimpleException {
+		return convert(path, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Converts the UTF-8 encoded JSON document in a file to either a map from
+	 * strings to objects or a list of objects according to the given options.
+	 * A file under 2 GB is mapped whole and parsed in place, as by
+	 * {@link #convert(ByteBuffer, ParseOptions)}. A larger file is mapped a
+	 * window at a time and parsed incrementally, as by
+	 * {@link #convert(Reader)}; the lazy setting is then ignored. The engine
+	 * setting is always ignored.
+	 * 
+	 * @param path
+	 *            file of UTF-8 encoded JSON
+	 * @param options
+	 *            representation of numbers
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 *             if the file cannot be read or is not well-formed JSON
+	 */
+	public static Object convert(Path path, ParseOptions options)
+			throws JSONSimpleException {
+		ByteBuffer buffer = MappedFile.map(path);
+		if (buffer != null)
+			return convert(buffer, options);
+		InputStream in = MappedFile.stream(path);
+		try {
+			JSONReader r = new JSONReader(new InputStreamReader(in,
+					JSONReader.UTF8));
+			r.options = options;
+			r.next();
+			Object o = r.value();
+			r.next();
+			return o;
+		} finally {
+			MappedFile.close(in);
+		}
+	}
+
+	/**
+	 * Parses a JSON document, reporting its events to a handler rather than
+	 * converting it, so values may be aggregated without building a tree.
+	 * Errors are reported as by {@link #convert(String)}.
+	 * 
+	 * @param json
+	 *            JSON document
+	 * @param handler
+	 *            receives the events
+	 * @throws JSONSimpleException
+	 * @see Parser#parse(String, JSONHandler)
+	 */
+	public static void parse(String json, JSONHandler handler)
+			throws JSONSimpleException {
+		new StringParser(json).parse(handler);
+	}
+
+	/**
+	 * Parses a JSON document incrementally from a {@link Reader}, reporting
+	 * its events to a handler rather than converting it. The reader is not
+	 * closed.
+	 * 
+	 * @param reader
+	 *            source of JSON
+	 * @param handler
+	 *            receives the events
+	 * @throws JSONSimpleException
+	 * @see Parser#parse(Reader, JSONHandler)
+	 */
+	public static void parse(Reader reader, JSONHandler handler)
+			throws JSONSimpleException {
+		new JSONReader(reader).handle(handler);
+	}
+
+	/**
+	 * Parses the UTF-8 encoded JSON document in a file, reporting its events
+	 * to a handler rather than converting it. The file is memory-mapped as by
+	 * {@link #convert(Path)}.
+	 * 
+	 * @param path
+	 *            file of UTF-8 encoded JSON
+	 * @param handler
+	 *            receives the events
+	 * @throws JSONSimpleException
+	 *             if the file cannot be read or is not well-formed JSON
+	 * @see Parser#parse(Path, JSONHandler)
+	 */
+	public static void parse(Path path, JSONHandler handler)
+			throws JSONSimpleException {
+		new Parser().parse(path, handler);
+	}
+
+	/**
+	 * Converts a JSON array of integers directly into an {@code int[]}
+	 * without creating an object per element.
+	 * 
+	 * @param json
+	 *            JSON array of integers
+	 * @return array of ints
+	 * @throws JSONSimpleException
+	 *             if the JSON is malformed or an element is not an integer in
+	 *             the range of {@code int}
+	 */
+	public static int[] toIntArray(String json) throws JSONSimpleException {
+		return toIntArray(json, "");
+	}
+
+	/**
+	 * Converts a JSON array of integers nested in a document directly into an
+	 * {@code int[]} without creating an object per element. Nothing else in
+	 * the document is converted, though all of it is checked for
+	 * well-formedness.
+	 * 
+	 * @param json
+	 *            JSON document
+	 * @param pointer
+	 *            RFC 6901 JSON pointer to the array, such as
+	 *            {@code "/data/0/values"}; {@code ""} for the root
+	 * @return array of ints
+	 * @throws JSONSimpleException
+	 *             if the JSON is malformed, there is no array at the pointer,
+	 *             or an element is not an integer in the range of {@code int}
+	 */
+	public static int[] toIntArray(String json, String pointer)
+			throws JSONSimpleException {
+		return (int[]) basicArray(json, pointer, DescentParser.INTS);
+	}
+
+	/**
+	 * Converts a JSON array of integers directly into a {@code long[]}
+	 * without creating an object per element.
+	 * 
+	 * @param json
+	 *            JSON array of integers
+	 * @return array of longs
+	 * @throws JSONSimpleException
+	 *             if the JSON is malformed or an element is not an integer in
+	 *             the range of {@code long}
+	 */
+	public static long[] toLongArray(String json) throws JSONSimpleException {
+		return toLongArray(json, "");
+	}
+
+	/**
+	 * Converts a JSON array of integers nested in a document directly into a
+	 * {@code long[]} without creating an object per element. Nothing else in
+	 * the document is converted, though all of it is checked for
+	 * well-formedness.
+	 * 
+	 * @param json
+	 *            JSON document
+	 * @param pointer
+	 *            RFC 6901 JSON pointer to the array, such as
+	 *            {@code "/data/0/values"}; {@code ""} for the root
+	 * @return array of longs
+	 * @throws JSONSimpleException
+	 *             if the JSON is malformed, there is no array at the pointer,
+	 *             or an element is not an integer in the range of {@code long}
+	 */
+	public static long[] toLongArray(String json, String pointer)
+			throws JSONSimpleException {
+		return (long[]) basicArray(json, pointer, DescentParser.LONGS);
+	}
+
+	/**
+	 * Converts a JSON array of numbers directly into a {@code double[]}
+	 * without creating an object per element.
+	 * 
+	 * @param json
+	 *            JSON array of numbers
+	 * @return array of doubles
+	 * @throws JSONSimpleException
+	 *             if the JSON is malformed or an element is not a number
+	 */
+	public static double[] toDoubleArray(String json)
+			throws JSONSimpleException {
+		return toDoubleArray(json, "");
+	}
+
+	/**
+	 * Converts a JSON array of numbers nested in a document directly into a
+	 * {@code double[]} without creating an object per element. Nothing else in
+	 * the document is converted, though all of it is checked for
+	 * well-formedness.
+	 * 
+	 * @param json
+	 *            JSON document
+	 * @param pointer
+	 *            RFC 6901 JSON pointer to the array, such as
+	 *            {@code "/data/0/values"}; {@code ""} for the root
+	 * @return array of doubles
+	 * @throws JSONSimpleException
+	 *             if the JSON is malformed, there is no array at the pointer,
+	 *             or an element is not a number
+	 */
+	public static double[] toDoubleArray(String json, String pointer)
+			throws JSONSimpleException {
+		return (double[]) basicArray(json, pointer, DescentParser.DOUBLES);
+	}
+
+	/**
+	 * Extracts the values at the ends of the given paths from a JSON document
+	 * in a single pass. Only these values are converted; everything else is
+	 * checked for well-formedness and skipped, so errors are reported just as
+	 * by {@link #convert(String)}. Paths may be RFC 6901 JSON pointers, such as
+	 * {@code "/meta/id"}, or simple path expressions beginning with {@code $},
+	 * such as {@code "$.meta.id"}, {@code "$['a.b'][0]"}, or
+	 * {@code "$.items[*].price"}. A step of {@code *} matches every member of
+	 * an object or array, and a path containing one selects the list of all
+	 * values matched, in document order; if none are, the path leads nowhere.
+	 * Where an object repeats a key only the last value is seen, so the result
+	 * is the same as walking the paths through the converted document.
+	 * 
+	 * @param json
+	 *            JSON document
+	 * @param paths
+	 *            JSON pointers or path expressions
+	 * @return map from each path to the value, or list of values, found at its
+	 *         end, omitting paths which lead nowhere
+	 * @throws JSONSimpleException
+	 *             if the JSON or a path is malformed
+	 */
+	public static Map<String, Object> select(String json, String... paths)
+			throws JSONSimpleException {
+		return select(json, ParseOptions.DEFAULT, paths);
+	}
+
+	/**
+	 * Extracts the values at the ends of the given paths from a JSON document
+	 * as {@link #select(String, String...)} does, representing them according
+	 * to the given options. The engine and lazy settings are ignored.
+	 * 
+	 * @param json
+	 *            JSON document
+	 * @param options
+	 *            representation of numbers
+	 * @param paths
+	 *            JSON pointers or path expressions
+	 * @return map from each path to the value, or list of values, found at its
+	 *         end, omitting paths which lead nowhere
+	 * @throws JSONSimpleException
+	 *             if the JSON or a path is malformed
+	 */
+	public static Map<String, Object> select(String json,
+			ParseOptions options, String... paths) throws JSONSimpleException {
+		Projection projection = new Projection(paths);
+		StringParser p = new StringParser(json);
+		p.options = options;
+		return p.project(projection);
+	}
+
+	private static Object basicArray(String json, String pointer, int kind) {
+		Object o = new StringParser(json).extract(pointer(pointer), kind);
+		if (o == DescentParser.MISSING)
+			throw new JSONSimpleException("no array at \"" + pointer + "\"");
+		return o;
+	}
+
+	/**
+	 * Splits an RFC 6901 JSON pointer into its unescaped reference tokens.
+	 * 
+	 * @param pointer
+	 *            JSON pointer
+	 * @return reference tokens
+	 * @throws JSONSimpleException
+	 *             if the pointer is malformed
+	 */
+	static String[] pointer(String pointer) throws JSONSimpleException {
+		if (pointer.length() == 0)
+			return new String[0];
+		if (pointer.charAt(0) != '/')
+			throw new JSONSimpleException("JSON pointer \"" + pointer
+					+ "\" does not begin with '/'");
+		String[] tokens = pointer.substring(1).split("/", -1);
+		for (int i = 0; i < tokens.length; i++) {
+			String t = tokens[i];
+			if (t.indexOf('~') > -1) {
+				if (!t.matches("(?:[^~]|~[01])*+"))
+					throw new JSONSimpleException("bad escape in JSON pointer \""
+							+ pointer + "\"");
+				tokens[i] = t.replace("~1", "/").replace("~0", "~");
+			}
+		}
+		return tokens;
+	}
+
+	private static Object convertWithGrammar(String json,
+			ParseOptions options) throws JSONSimpleException {
 		Matcher m = g.matches(json,
 				new Options().study(false).keepRightmost(true));
 		Match n = m.match();
@@ -407,44 +969,96 @@ public class Converter {
 			if (n == null)
 				throw new JSONSimpleException("failed to parse \"" + json
 						+ "\" as JSON");
-			int start = Math.max(0, n.end() - 20), end = Math.min(
-					json.length(), n.end() + 20);
-			StringBuilder b = new StringBuilder("parsing failed at offset ");
-			b.append(n.end()).append(" marked by '<HERE>': ");
-			if (start > 0)
-				b.append("...");
-			b.append(json.substring(start, n.end()));
-			b.append("<HERE>");
-			b.append(json.substring(n.end(), end));
-			if (end < json.length())
-				b.append("...");
-			throw new JSONSimpleException(b.toString());
+			throw parseError(json, n.end());
 		}
 
 		n = n.child(1);
 		for (Match child : n.children()) {
 			if (child.labelId("array"))
-				return convertArray(child, json);
+				return convertArray(child, json, options);
 			else if (child.labelId("obj"))
-				return convertObject(child, json);
+				return convertObject(child, json, options);
 		}
 		throw new JSONSimpleException(
 				"LOGIC ERROR: parsable string failed to parse to either object or array");
 	}
 
 	/**
-	 * Cleans out unnecessary whitespace from JSON string.
+	 * Generates the exception reported when parsing fails, marking the point of
+	 * failure with {@code <HERE>}.
+	 * 
+	 * @param json
+	 *            string being parsed
+	 * @param offset
+	 *            offset of failure
+	 * @return exception describing failure
+	 */
+	static JSONSimpleException parseError(String json, int offset) {
+		return parseError("parsing failed", json, 0, offset, false);
+	}
+
+	/**
+	 * Generates the exception reported when parsing fails, marking the point of
+	 * failure with {@code <HERE>}, when only a window of the text around the
+	 * point of failure is available.
+	 * 
+	 * @param problem
+	 *            description of the failure, "parsing failed" for syntax
+	 *            errors
+	 * @param window
+	 *            text around the point of failure
+	 * @param windowOffset
+	 *            offset of the first character of the window in the text
+	 *            being parsed
+	 * @param offset
+	 *            offset of failure
+	 * @param more
+	 *            whether the text being parsed continues beyond the window
+	 * @return exception describing failure
+	 */
+	static JSONSimpleException parseError(String problem,
+			CharSequence window, long windowOffset, long offset, boolean more) {
+		int o = (int) (offset - windowOffset);
+		int start = Math.max(0, o - 20), end = Math.min(window.length(),
+				o + 20);
+		StringBuilder b = new StringBuilder(problem);
+		b.append(" at offset ").append(offset).append(" marked by '<HERE>': ");
+		if (start + windowOffset > 0)
+			b.append("...");
+		b.append(window, start, o);
+		b.append("<HERE>");
+		b.append(window, o, end);
+		if (more || end < window.length())
+			b.append("...");
+		return new JSONSimpleException(b.toString());
+	}
+
+	/**
+	 * Cleans out unnecessary whitespace from JSON string. The document is
+	 * rewritten token by token; strings and numbers are copied verbatim.
 	 * 
 	 * @param json
 	 * @return json with unnecessary whitespace removed
 	 * @throws JSONSimpleException
 	 */
-	@SuppressWarnings("unchecked")
 	public static String compress(String json) throws JSONSimpleException {
-		Object obj = convert(json);
-		if (obj instanceof Map<?, ?>)
-			return convert((Map<String, Object>) obj);
-		return convert((List<Object>) obj);
+		return reformat(new JSONReader(json), -1);
+	}
+
+	/**
+	 * Cleans out unnecessary whitespace from JSON read from a stream. Only the
+	 * current token is held in memory, so documents of any size may be
+	 * compressed. Strings and numbers are copied verbatim.
+	 * 
+	 * @param in
+	 *            source of JSON
+	 * @param out
+	 *            receives json with unnecessary whitespace removed
+	 * @throws JSONSimpleException
+	 */
+	public static void compress(Reader in, Appendable out)
+			throws JSONSimpleException {
+		new Reformatter(new JSONReader(in), new Output(out), -1).run();
 	}
 
 	/**
@@ -575,13 +1189,40 @@ public class Converter {
 	 * @return json with unnecessary whitespace removed
 	 * @throws JSONSimpleException
 	 */
-	@SuppressWarnings("unchecked")
 	public static String pretty(String json, int indent)
 			throws JSONSimpleException {
-		Object obj = convert(json);
-		if (obj instanceof Map<?, ?>)
-			return convert((Map<String, Object>) obj, indent);
-		return convert((List<Object>) obj, indent);
+		return reformat(new JSONReader(json), indent);
+	}
+
+	/**
+	 * Normalizes whitespace in JSON read from a stream, indenting the
+	 * contents of lists and maps appropriately. The layout is that of
+	 * {@link #pretty(String, int)}. Arrays are written out as they are read,
+	 * the first member of each being held back only until it is known whether
+	 * the array needs lines of its own, which is settled as soon as the member
+	 * is known to need lines of its own or a second member begins. Each object
+	 * is held in memory until it is complete, as its keys are sorted and
+	 * aligned, so memory use is bounded by the largest object. Strings and
+	 * numbers are copied verbatim.
+	 * 
+	 * @param in
+	 *            source of JSON
+	 * @param out
+	 *            receives the reformatted json
+	 * @param indent
+	 *            indentation size in spaces; if this is less than 0, there will
+	 *            be no indentation
+	 * @throws JSONSimpleException
+	 */
+	public static void pretty(Reader in, Appendable out, int indent)
+			throws JSONSimpleException {
+		new Reformatter(new JSONReader(in), new Output(out), indent).run();
+	}
+
+	private static String reformat(JSONReader r, int indent) {
+		Output b = new Output();
+		new Reformatter(r, b, indent).run();
+		return b.toString();
 	}
 
 	@SuppressWarnings("serial")
@@ -592,32 +1233,34 @@ public class Converter {
 		}
 	};
 
-	private static Map<String, Object> convertObject(final Match m, String json) {
+	private static Map<String, Object> convertObject(final Match m,
+			String json, ParseOptions options) {
 		Map<String, Object> map = new LinkedHashMap<String, Object>();
 		String key = null;
 		for (Match child : m.closest(stringOrValue)) {
 			if (child.labelId("string"))
 				key = convertString(child, json);
 			else {
-				Object o = convertValue(child, json);
+				Object o = convertValue(child, json, options);
 				map.put(key, o);
 			}
 		}
 		return map;
 	}
 
-	private static Object convertValue(Match m, String json) {
+	private static Object convertValue(Match m, String json,
+			ParseOptions options) {
 		Match child = m.children()[0];
 		if (child.labelId("string")) {
 			return convertString(child, json);
 		} else if (child.labelId("number")) {
-			return convertNumber(child);
+			return convertNumber(child, json, options);
 		} else if (child.labelId("obj")) {
-			return convertObject(child, json);
+			return convertObject(child, json, options);
 		} else if (child.labelId("boolean")) {
 			return convertBoolean(child);
 		} else if (child.labelId("array")) {
-			return convertArray(child, json);
+			return convertArray(child, json, options);
 		} else
 			return null;
 	}
@@ -630,10 +1273,11 @@ public class Converter {
 		}
 	};
 
-	private static Object convertArray(Match m, String json) {
+	private static Object convertArray(Match m, String json,
+			ParseOptions options) {
 		List<Object> list = new ArrayList<Object>();
 		for (Match child : m.closest(valueTest)) {
-			list.add(convertValue(child, json));
+			list.add(convertValue(child, json, options));
 		}
 		return list;
 	}
@@ -642,12 +1286,40 @@ public class Converter {
 		return new Boolean(child.group());
 	}
 
-	private static Object convertNumber(Match child) {
+	private static Object convertNumber(Match child, String json,
+			ParseOptions options) {
 		child = child.children()[0];
-		if (child.labelId("int"))
-			return new BigInteger(child.group());
-		else
-			return new BigDecimal(child.group());
+		boolean integral = child.labelId("int");
+		switch (options.numbers()) {
+		case FAST:
+			return fastNumber(child.group(), integral);
+		case LAZY:
+			return new LazyNumber(json, child.start(), child.end(), integral);
+		default:
+			if (integral)
+				return new BigInteger(child.group());
+			else
+				return new BigDecimal(child.group());
+		}
+	}
+
+	/**
+	 * @param s
+	 *            text of a number
+	 * @param integral
+	 *            whether it has neither fraction nor exponent
+	 * @return the number as a {@link Long} if it is integral and fits,
+	 *         otherwise as a {@link BigInteger} or {@link Double}
+	 */
+	static Number fastNumber(String s, boolean integral) {
+		if (!integral)
+			return Double.valueOf(s);
+		if (s.length() < 19)
+			return Long.valueOf(s);
+		BigInteger i = new BigInteger(s);
+		if (i.bitLength() < 64)
+			return Long.valueOf(i.longValue());
+		return i;
 	}
 
 	@SuppressWarnings("serial")
@@ -660,7 +1332,13 @@ public class Converter {
 	};
 
 	private static String convertString(Match m, String json) {
-		StringBuilder b = new StringBuilder();
+		// the match includes the quotes
+		int start = m.start() + 1, end = m.end() - 1, i = start;
+		while (i < end && json.charAt(i) != '\\')
+			i++;
+		if (i == end)
+			return json.substring(start, end);
+		StringBuilder b = new StringBuilder(end - start);
 		for (Match child : m.get(scOrNsc)) {
 			if (child.labelId("sc"))
 				convertSpecialCharacter(child, json, b);
@@ -672,8 +1350,7 @@ public class Converter {
 
 	private static void convertOrdinaryCharacter(Match m, String json,
 			StringBuilder b) {
-		for (int i = m.start(), lim = m.end(); i < lim; i++)
-			b.append(json.charAt(i));
+		b.append(json, m.start(), m.end());
 	}
 
 	private static void convertSpecialCharacter(Match m, String json,
@@ -717,7 +1394,7 @@ public class Converter {
 		}
 	}
 
-	private static void convert(Map<?, ?> map, StringBuilder b, int indent,
+	private static void convert(Map<?, ?> map, Output b, int indent,
 			int margin) throws JSONSimpleException {
 		if (indent < 0) {
 			b.append('{');
@@ -730,31 +1407,31 @@ public class Converter {
 				convert(e.getKey().toString(), b);
 				b.append(':');
 				convert(e.getValue(), b, indent, margin + 2);
+				b.mark();
 			}
 			b.append('}');
 		} else {
-			boolean selfNontrivial = nontrivial(map, indent);
-			if (map.size() > 1)
-				map = new TreeMap<Object, Object>(map);
+			boolean selfNontrivial = nontrivial(map, indent, b);
+			Collection<? extends Entry<?, ?>> entries = map.entrySet();
+			if (map.size() > 1 && b.options.sortKeys())
+				entries = sorted(map);
 			if (margin > 0 && selfNontrivial)
 				newline(b, indent, margin);
 			b.append('{');
 			if (!selfNontrivial)
 				b.append(' ');
+			// width to which short keys are padded so their values align
 			int max = 0;
-			String format = null;
 			if (selfNontrivial) {
 				for (Object o : map.keySet()) {
 					String s = o.toString();
-					if (nontrivial(s, indent))
+					if (nontrivial(s, indent, b))
 						continue;
 					max = Math.max(max, s.length() + 2);
 				}
-				if (max > 0)
-					format = "%-" + max + "s : ";
 			}
 			boolean nonInitial = false;
-			for (Entry<?, ?> e : map.entrySet()) {
+			for (Entry<?, ?> e : entries) {
 				String k = e.getKey().toString();
 				Object o = e.getValue();
 				if (nonInitial)
@@ -763,15 +1440,15 @@ public class Converter {
 					nonInitial = true;
 				if (selfNontrivial)
 					newline(b, indent, margin + 1);
-				if (selfNontrivial && !nontrivial(k, indent)) {
-					StringBuilder b2 = new StringBuilder();
-					convert(k, b2);
-					b.append(String.format(format, b2));
-				} else {
-					convert(k, b);
-					b.append(" : ");
+				int start = b.length();
+				convert(k, b);
+				if (selfNontrivial && !nontrivial(k, indent, b)) {
+					for (int i = b.length() - start; i < max; i++)
+						b.append(' ');
 				}
+				b.append(" : ");
 				convert(o, b, indent, margin + 2);
+				b.mark();
 			}
 			if (selfNontrivial)
 				newline(b, indent, margin);
@@ -781,48 +1458,131 @@ public class Converter {
 		}
 	}
 
-	private static void convert(String key, StringBuilder b) {
+	/**
+	 * @param map
+	 * @return the map's entries sorted by the natural order of their keys
+	 */
+	private static List<Entry<?, ?>> sorted(Map<?, ?> map) {
+		Entry<?, ?>[] entries = map.entrySet().toArray(
+				new Entry<?, ?>[map.size()]);
+		Arrays.sort(entries, KEY_ORDER);
+		return Arrays.asList(entries);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static final Comparator<Entry<?, ?>> KEY_ORDER = new Comparator<Entry<?, ?>>() {
+		@Override
+		public int compare(Entry<?, ?> a, Entry<?, ?> b) {
+			return ((Comparable) a.getKey()).compareTo(b.getKey());
+		}
+	};
+
+	/**
+	 * Serializes any convertible value without indentation; used by
+	 * {@link JSONWriter}.
+	 * 
+	 * @param value
+	 * @param b
+	 * @throws JSONSimpleException
+	 */
+	static void write(Object value, Output b) throws JSONSimpleException {
+		convert(value, b, -1, 0);
+	}
+
+	/**
+	 * Serializes any convertible value; used by {@link Serializer}.
+	 * 
+	 * @param value
+	 * @param b
+	 * @param indent
+	 *            amount nested values are to be indented relative to their
+	 *            context; if this is less than 0, there will be no indentation
+	 * @throws JSONSimpleException
+	 */
+	static void write(Object value, Output b, int indent)
+			throws JSONSimpleException {
+		if (value instanceof Collection<?> && !(value instanceof List<?>))
+			value = new ArrayList<Object>((Collection<?>) value);
+		int parallel = b.options.parallel();
+		if (parallel > 0 && value instanceof List<?>) {
+			List<?> list = (List<?>) value;
+			if (list.size() >= Math.max(2, parallel)
+					&& ParallelWriter.write(list, b, indent))
+				return;
+		}
+		convert(value, b, indent, 0);
+	}
+
+	static void convert(String key, Output b) {
 		b.append('"');
 		escape(key, b);
 		b.append('"');
 	}
 
-	private static void escape(String s, StringBuilder b) {
-		for (int i = 0; i < s.length(); i++) {
+	/**
+	 * Writes a string's characters, escaping those that must be escaped.
+	 * Replacements for ASCII characters are found in a table; runs of
+	 * characters requiring no escape are copied in bulk.
+	 * 
+	 * @param s
+	 * @param b
+	 */
+	private static void escape(String s, Output b) {
+		String[] escapes = b.options.escapes();
+		boolean ascii = b.options.asciiOnly();
+		int n = s.length(), run = 0;
+		for (int i = 0; i < n; i++) {
 			char c = s.charAt(i);
-			switch (c) {
-			case '\n':
-				b.append("\\n");
-				break;
-			case '\r':
-				b.append("\\r");
-				break;
-			case '\t':
-				b.append("\\t");
-				break;
-			case '\f':
-				b.append("\\f");
-				break;
-			case '\b':
-				b.append("\\b");
-				break;
-			case '\\':
-				b.append("\\\\");
-				break;
-			case '/':
-				b.append("\\/");
-				break;
-			case '"':
-				b.append("\\\"");
-				break;
-			default:
-				b.append(c);
-			}
+			String e;
+			if (c < 128) {
+				e = escapes[c];
+				if (e == null)
+					continue;
+			} else if (ascii)
+				e = null;
+			else
+				continue;
+			if (i > run)
+				b.append(s, run, i);
+			if (e == null)
+				unicode(c, b);
+			else
+				b.append(e);
+			run = i + 1;
 		}
+		if (run == 0)
+			b.append(s);
+		else if (run < n)
+			b.append(s, run, n);
+	}
+
+	private static void escape(char c, Output b) {
+		if (c < 128) {
+			String e = b.options.escapes()[c];
+			if (e == null)
+				b.append(c);
+			else
+				b.append(e);
+		} else if (b.options.asciiOnly())
+			unicode(c, b);
+		else
+			b.append(c);
+	}
+
+	/**
+	 * Writes a character as a unicode escape sequence.
+	 * 
+	 * @param c
+	 * @param b
+	 */
+	private static void unicode(char c, Output b) {
+		b.append('\\').append('u');
+		for (int shift = 12; shift >= 0; shift -= 4)
+			b.append(SerializeOptions.HEX[(c >> shift) & 0xF]);
 	}
 
 	@SuppressWarnings("unchecked")
-	private static void convert(Object value, StringBuilder b, int indent,
+	private static void convert(Object value, Output b, int indent,
 			int margin) throws JSONSimpleException {
 		if (value == null)
 			b.append("null");
@@ -839,86 +1599,162 @@ public class Converter {
 		else if (value instanceof Boolean)
 			b.append(value.toString());
 		else
-			convert(objectify(value), b, indent, margin);
+			convertBasic(value, b, indent, margin);
 	}
 
 	/**
-	 * Attempts to convert an array of some basic type into an array of
-	 * equivalent objects.
+	 * Converts an array of some basic type into a JSON string without boxing
+	 * its elements.
+	 * 
+	 * @param list
+	 *            basic type array
+	 * @param indent
+	 *            amount to indent nested values; if this is less than 0, there
+	 *            will be no indentation
+	 * @return JSON string
+	 */
+	private static String basic(Object list, int indent) {
+		Output b = new Output();
+		convertBasic(list, b, indent, 0);
+		return b.toString();
+	}
+
+	/**
+	 * Writes an array of some basic type element by element, formatting
+	 * elements directly into the output. Arrays are laid out as the equivalent
+	 * object arrays would be. A {@code char[]} is treated as an array of
+	 * strings.
 	 * 
 	 * @param value
-	 * @return a basic type array converted into an object array
+	 * @param b
+	 * @param indent
+	 * @param margin
 	 * @throws JSONSimpleException
-	 *             when such a conversion is impossible
+	 *             when value is not an array of a basic type
 	 */
-	private static Object[] objectify(Object value) throws JSONSimpleException {
-		if (value instanceof double[]) {
-			double[] ar1 = (double[]) value;
-			Double[] ar2 = new Double[ar1.length];
-			for (int i = 0; i < ar1.length; i++)
-				ar2[i] = ar1[i];
-			return ar2;
-		}
-		if (value instanceof float[]) {
-			float[] ar1 = (float[]) value;
-			Float[] ar2 = new Float[ar1.length];
-			for (int i = 0; i < ar1.length; i++)
-				ar2[i] = ar1[i];
-			return ar2;
-		}
+	private static void convertBasic(Object value, Output b, int indent,
+			int margin) throws JSONSimpleException {
+		int length = basicLength(value);
+		// elements are all trivial, so only the length matters
+		boolean selfNontrivial = indent > -1 && length != 1;
+		if (margin > 0 && selfNontrivial)
+			newline(b, indent, margin);
+		b.append('[');
 		if (value instanceof int[]) {
-			int[] ar1 = (int[]) value;
-			Integer[] ar2 = new Integer[ar1.length];
-			for (int i = 0; i < ar1.length; i++)
-				ar2[i] = ar1[i];
-			return ar2;
-		}
-		if (value instanceof long[]) {
-			long[] ar1 = (long[]) value;
-			Long[] ar2 = new Long[ar1.length];
-			for (int i = 0; i < ar1.length; i++)
-				ar2[i] = ar1[i];
-			return ar2;
-		}
-		if (value instanceof short[]) {
-			short[] ar1 = (short[]) value;
-			Short[] ar2 = new Short[ar1.length];
-			for (int i = 0; i < ar1.length; i++)
-				ar2[i] = ar1[i];
-			return ar2;
-		}
-		if (value instanceof byte[]) {
-			byte[] ar1 = (byte[]) value;
-			Byte[] ar2 = new Byte[ar1.length];
-			for (int i = 0; i < ar1.length; i++)
-				ar2[i] = ar1[i];
-			return ar2;
-		}
-		if (value instanceof char[]) {
-			char[] ar1 = (char[]) value;
-			String[] ar2 = new String[ar1.length];
-			for (int i = 0; i < ar1.length; i++)
-				ar2[i] = Character.toString(ar1[i]);
-			return ar2;
-		}
-		if (value instanceof boolean[]) {
-			boolean[] ar1 = (boolean[]) value;
-			Boolean[] ar2 = new Boolean[ar1.length];
-			for (int i = 0; i < ar1.length; i++)
-				ar2[i] = ar1[i];
-			return ar2;
+			int[] ar = (int[]) value;
+			for (int i = 0; i < ar.length; i++) {
+				if (i > 0)
+					b.append(',');
+				b.append(ar[i]).mark();
+			}
+		} else if (value instanceof double[]) {
+			double[] ar = (double[]) value;
+			for (int i = 0; i < ar.length; i++) {
+				if (i > 0)
+					b.append(',');
+				b.append(ar[i]).mark();
+			}
+		} else if (value instanceof long[]) {
+			long[] ar = (long[]) value;
+			for (int i = 0; i < ar.length; i++) {
+				if (i > 0)
+					b.append(',');
+				b.append(ar[i]).mark();
+			}
+		} else if (value instanceof float[]) {
+			float[] ar = (float[]) value;
+			for (int i = 0; i < ar.length; i++) {
+				if (i > 0)
+					b.append(',');
+				b.append(ar[i]).mark();
+			}
+		} else if (value instanceof short[]) {
+			short[] ar = (short[]) value;
+			for (int i = 0; i < ar.length; i++) {
+				if (i > 0)
+					b.append(',');
+				b.append(ar[i]).mark();
+			}
+		} else if (value instanceof byte[]) {
+			byte[] ar = (byte[]) value;
+			for (int i = 0; i < ar.length; i++) {
+				if (i > 0)
+					b.append(',');
+				b.append(ar[i]).mark();
+			}
+		} else if (value instanceof boolean[]) {
+			boolean[] ar = (boolean[]) value;
+			for (int i = 0; i < ar.length; i++) {
+				if (i > 0)
+					b.append(',');
+				b.append(ar[i] ? "true" : "false").mark();
+			}
+		} else {
+			char[] ar = (char[]) value;
+			for (int i = 0; i < ar.length; i++) {
+				if (i > 0)
+					b.append(',');
+				b.append('"');
+				escape(ar[i], b);
+				b.append('"').mark();
+			}
 		}
+		if (indent > 0 && selfNontrivial)
+			newline(b, indent, margin);
+		else if (indent > -1)
+			b.append(' ');
+		b.append(']');
+	}
+
+	/**
+	 * @param value
+	 * @return length of an array of a basic type
+	 * @throws JSONSimpleException
+	 *             when value is not such an array
+	 */
+	private static int basicLength(Object value) throws JSONSimpleException {
+		if (value instanceof int[])
+			return ((int[]) value).length;
+		if (value instanceof double[])
+			return ((double[]) value).length;
+		if (value instanceof long[])
+			return ((long[]) value).length;
+		if (value instanceof float[])
+			return ((float[]) value).length;
+		if (value instanceof short[])
+			return ((short[]) value).length;
+		if (value instanceof byte[])
+			return ((byte[]) value).length;
+		if (value instanceof boolean[])
+			return ((boolean[]) value).length;
+		if (value instanceof char[])
+			return ((char[]) value).length;
 		throw new JSONSimpleException(
 				"values must be strings, arrays, lists, maps, null, booleans, or numbers");
 	}
 
-	private static void convert(Number n, StringBuilder b) {
-		b.append(n.toString());
+	/**
+	 * Writes a number. The digits of integers and of most doubles are written
+	 * directly into the output rather than into an intermediate string.
+	 * 
+	 * @param n
+	 * @param b
+	 */
+	private static void convert(Number n, Output b) {
+		if (n instanceof Integer || n instanceof Long || n instanceof Short
+				|| n instanceof Byte)
+			b.append(n.longValue());
+		else if (n instanceof Double)
+			b.append(n.doubleValue());
+		else if (n instanceof Float)
+			b.append(n.floatValue());
+		else
+			b.append(n.toString());
 	}
 
-	private static void convert(Object[] array, StringBuilder b, int indent,
+	private static void convert(Object[] array, Output b, int indent,
 			int margin) throws JSONSimpleException {
-		boolean selfNontrivial = nontrivial(array, indent);
+		boolean selfNontrivial = nontrivial(array, indent, b);
 		if (margin > 0 && selfNontrivial)
 			newline(b, indent, margin);
 		b.append('[');
@@ -928,9 +1764,10 @@ public class Converter {
 				b.append(',');
 			else
 				nonInitial = true;
-			if (nontrivial(o, indent))
+			if (nontrivial(o, indent, b))
 				newline(b, indent, margin + 1);
 			convert(o, b, indent, margin + 1);
+			b.mark();
 		}
 		if (indent > 0 && selfNontrivial)
 			newline(b, indent, margin);
@@ -939,24 +1776,57 @@ public class Converter {
 		b.append(']');
 	}
 
-	private static void convert(List<?> list, StringBuilder b, int indent,
+	private static void convert(List<?> list, Output b, int indent,
 			int margin) throws JSONSimpleException {
-		boolean selfNontrivial = nontrivial(list, indent);
+		boolean selfNontrivial = nontrivial(list, indent, b);
 		if (margin > 0 && selfNontrivial)
 			newline(b, indent, margin);
 		b.append('[');
 		boolean nonInitial = false;
 		for (Object o : list) {
-			if (nonInitial)
-				b.append(',');
-			else
-				nonInitial = true;
-			if (selfNontrivial)
-				newline(b, indent, margin + 1);
-			else if (indent > -1)
-				b.append(' ');
-			convert(o, b, indent, margin + 1);
+			member(o, nonInitial, b, indent, margin, selfNontrivial);
+			nonInitial = true;
 		}
+		close(b, indent, margin, selfNontrivial);
+	}
+
+	/**
+	 * Writes a member of a list with the separator and whitespace preceding
+	 * it; used by {@link ParallelWriter} for runs of members.
+	 * 
+	 * @param o
+	 *            member
+	 * @param nonInitial
+	 *            whether a member precedes this one
+	 * @param b
+	 * @param indent
+	 * @param margin
+	 *            margin of the list
+	 * @param selfNontrivial
+	 *            whether the list requires its own lines
+	 * @throws JSONSimpleException
+	 */
+	static void member(Object o, boolean nonInitial, Output b, int indent,
+			int margin, boolean selfNontrivial) throws JSONSimpleException {
+		if (nonInitial)
+			b.append(',');
+		if (selfNontrivial)
+			newline(b, indent, margin + 1);
+		else if (indent > -1)
+			b.append(' ');
+		convert(o, b, indent, margin + 1);
+		b.mark();
+	}
+
+	/**
+	 * Writes the whitespace and bracket closing a list.
+	 * 
+	 * @param b
+	 * @param indent
+	 * @param margin
+	 * @param selfNontrivial
+	 */
+	static void close(Output b, int indent, int margin, boolean selfNontrivial) {
 		if (selfNontrivial)
 			newline(b, indent, margin);
 		else if (indent > -1)
@@ -965,12 +1835,21 @@ public class Converter {
 	}
 
 	/**
+	 * Determines whether a value requires its own lines. Strings and empty
+	 * containers are trivial if short; containers of more than one value are
+	 * not; a container of one value is as trivial as its member. The last
+	 * case is the only recursive one, so results for single member containers
+	 * are remembered, and each value is examined only once however deeply such
+	 * containers are nested.
+	 * 
 	 * @param o
 	 * @param indent
+	 * @param b
+	 *            output remembering the results for single member containers
 	 * @return whether indentation needed
 	 */
 	@SuppressWarnings("unchecked")
-	private static boolean nontrivial(Object o, int indent) {
+	private static boolean nontrivial(Object o, int indent, Output b) {
 		if (indent < 0)
 			return false;
 		if (o instanceof String)
@@ -980,24 +1859,36 @@ public class Converter {
 			if (m.isEmpty())
 				return false;
 			if (m.size() == 1) {
+				Boolean known = b.nontrivial(o);
+				if (known != null)
+					return known;
 				Entry<String, Object> e = m.entrySet().iterator().next();
-				return nontrivial(e.getKey().toString(), indent)
-						&& nontrivial(e.getValue(), indent);
+				return b.nontrivial(o,
+						nontrivial(e.getKey().toString(), indent, b)
+								&& nontrivial(e.getValue(), indent, b));
 			}
 			return true;
 		} else if (o instanceof List<?>) {
 			List<Object> l = (List<Object>) o;
 			if (l.isEmpty())
 				return false;
-			if (l.size() == 1)
-				return nontrivial(l.get(0), indent);
+			if (l.size() == 1) {
+				Boolean known = b.nontrivial(o);
+				if (known != null)
+					return known;
+				return b.nontrivial(o, nontrivial(l.get(0), indent, b));
+			}
 			return true;
 		} else if (o instanceof Object[]) {
 			Object[] ar = (Object[]) o;
 			if (ar.length == 0)
 				return true;
-			if (ar.length == 1)
-				return nontrivial(ar[0], indent);
+			if (ar.length == 1) {
+				Boolean known = b.nontrivial(o);
+				if (known != null)
+					return known;
+				return b.nontrivial(o, nontrivial(ar[0], indent, b));
+			}
 			return true;
 		}
 		return false;
@@ -1010,7 +1901,7 @@ public class Converter {
 	 * @param indent
 	 * @param margin
 	 */
-	private static void newline(StringBuilder b, int indent, int margin) {
+	private static void newline(Output b, int indent, int margin) {
 		if (indent < 0)
 			return;
 		b.append('\n');
@@ -0,0 +1,1162 @@
+package dfh.json.simple;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass, character-level recursive descent parser accepting the same
+ * language as {@link Converter#JSON_RULES} and producing the same collections
+ * as the grammar-based engine. No match tree is built; values are constructed
+ * as the text is consumed. Subclasses provide access to the text, which may be
+ * a string or UTF-8 encoded bytes; all structural characters are ASCII, so the
+ * parsing logic is indifferent to the encoding.
+ * <p>
+ * Errors are reported at the offset the grammar would report as the end of its
+ * rightmost match, so messages are identical regardless of engine.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+abstract class DescentParser {
+	/**
+	 * kinds of basic type array understood by {@link #basicArray(int)}
+	 */
+	static final int INTS = 0, LONGS = 1, DOUBLES = 2;
+	/**
+	 * returned when a path leads nowhere
+	 */
+	static final Object MISSING = new Object();
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5,
+			1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17,
+			1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	final int length;
+	int pos;
+	/**
+	 * how values are to be represented; set before parsing
+	 */
+	ParseOptions options = ParseOptions.DEFAULT;
+	/**
+	 * set by {@link #accumulate(int, int)}
+	 */
+	private long accumulated;
+	/**
+	 * extents of containers; built, if at all, while the document is validated
+	 * by {@link #skipValue()}
+	 */
+	StructuralIndex index;
+	/**
+	 * buffer for decoding strings containing escapes; created when first needed
+	 */
+	StringBuilder scratch;
+	/**
+	 * cache of object keys, if any
+	 */
+	KeyCache keys;
+
+	/**
+	 * @param length
+	 *            number of code units in the text
+	 */
+	DescentParser(int length) {
+		this.length = length;
+	}
+
+	/**
+	 * @param i
+	 *            offset of a code unit
+	 * @return code unit at the given offset; a char or an unsigned byte
+	 */
+	abstract int at(int i);
+
+	/**
+	 * Finds the end of a run of characters within a string requiring no
+	 * special handling.
+	 *
+	 * @param i
+	 *            offset at which to begin scanning
+	 * @return offset of the first quote, backslash, or forbidden character at
+	 *         or after i, or the length of the text if there is none
+	 */
+	abstract int scan(int i);
+
+	/**
+	 * @param start
+	 * @param end
+	 * @return decoded text of the given span, which contains no escapes
+	 */
+	abstract String string(int start, int end);
+
+	/**
+	 * Decodes the given span, which contains no escapes, into a buffer.
+	 *
+	 * @param b
+	 * @param start
+	 * @param end
+	 */
+	abstract void append(StringBuilder b, int start, int end);
+
+	/**
+	 * @return the text as a character sequence, for {@link LazyNumber}; only
+	 *         spans holding numbers need be readable through it
+	 */
+	abstract CharSequence source();
+
+	/**
+	 * @return whether code units beyond ASCII are bytes of encoded characters
+	 *         rather than characters
+	 */
+	boolean encoded() {
+		return false;
+	}
+
+	/**
+	 * @param problem
+	 *            description of the failure
+	 * @param offset
+	 *            offset of failure
+	 * @return exception describing failure
+	 */
+	abstract JSONSimpleException error(String problem, int offset);
+
+	/**
+	 * @return a parser over the same text, for use on another thread
+	 */
+	abstract DescentParser fork();
+
+	/**
+	 * @return the map or list represented by the entire JSON text
+	 * @throws JSONSimpleException
+	 */
+	Object parse() throws JSONSimpleException {
+		prepare();
+		if (options.lazy())
+			return parseLazy();
+		root();
+		Object o = null;
+		if (options.parallel() > 0 && length >= options.parallel()
+				&& at(pos) == '[')
+			o = ParallelArray.parse(this);
+		if (o == null)
+			o = parseValue();
+		end();
+		return o;
+	}
+
+	/**
+	 * Parses the entire document, reporting its events to a handler rather
+	 * than converting it. The lazy and parallel settings are ignored.
+	 *
+	 * @param handler
+	 *            receives the events
+	 * @throws JSONSimpleException
+	 */
+	void parse(JSONHandler handler) throws JSONSimpleException {
+		prepare();
+		root();
+		handleValue(handler);
+		end();
+	}
+
+	/**
+	 * Parses a run of array members separated by commas, as split off by
+	 * {@link ParallelArray}.
+	 *
+	 * @param list
+	 *            receives the members
+	 * @param end
+	 *            offset of the comma or bracket following the last member
+	 */
+	void members(List<Object> list, int end) {
+		prepare();
+		skipSpace();
+		while (true) {
+			list.add(parseValue());
+			skipSpace();
+			if (pos == end)
+				return;
+			if (pos > end || at(pos) != ',')
+				throw error();
+			pos++;
+			skipSpace();
+		}
+	}
+
+	/**
+	 * Validates the entire document without converting anything, then returns
+	 * a view of the root which decodes its members on demand.
+	 *
+	 * @return a {@link LazyObject} or {@link LazyArray}
+	 * @throws JSONSimpleException
+	 */
+	private Object parseLazy() throws JSONSimpleException {
+		root();
+		int start = pos;
+		index = new StructuralIndex();
+		skipValue();
+		end();
+		index.trim();
+		return lazyValue(start);
+	}
+
+	/**
+	 * Decodes the value at the given offset in a document already validated.
+	 * Objects and arrays are not decoded but wrapped in lazy views.
+	 *
+	 * @param offset
+	 *            offset of the value
+	 * @return the value
+	 */
+	Object lazyValue(int offset) {
+		pos = offset;
+		switch (at(pos)) {
+		case '{':
+			return new LazyObject(this, offset);
+		case '[':
+			return new LazyArray(this, offset);
+		default:
+			return parseValue();
+		}
+	}
+
+	/**
+	 * Parses the entire document, converting only the value found at the end
+	 * of the given path into a basic type array.
+	 *
+	 * @param path
+	 *            sequence of keys and indices
+	 * @param kind
+	 *            {@link #INTS}, {@link #LONGS}, or {@link #DOUBLES}
+	 * @return the array or {@link #MISSING}
+	 * @throws JSONSimpleException
+	 */
+	Object extract(String[] path, int kind) throws JSONSimpleException {
+		root();
+		Object o = find(path, 0, kind);
+		end();
+		return o;
+	}
+
+	/**
+	 * Parses the entire document, converting only the values found at the
+	 * ends of the projection's paths.
+	 *
+	 * @param projection
+	 *            paths sought
+	 * @return map from paths to the values found
+	 * @throws JSONSimpleException
+	 */
+	Map<String, Object> project(Projection projection)
+			throws JSONSimpleException {
+		prepare();
+		root();
+		project(Collections.singletonList(projection.root), projection);
+		end();
+		return projection.results();
+	}
+
+	/**
+	 * Converts the current value if a path ends here, or otherwise descends
+	 * into those members on which some path continues, validating but not
+	 * converting the rest.
+	 *
+	 * @param nodes
+	 *            positions in the tree of paths corresponding to the current
+	 *            value
+	 * @param projection
+	 *            receives the values found
+	 */
+	private void project(List<Projection.Node> nodes, Projection projection) {
+		for (Projection.Node n : nodes) {
+			if (n.terminal()) {
+				Object value = parseValue();
+				for (Projection.Node m : nodes)
+					projection.found(value, m);
+				return;
+			}
+		}
+		int c = at(pos);
+		if (c == '{') {
+			if (enter('}')) {
+				// as in conversion, the last occurrence of a key replaces any
+				// earlier ones, so members are projected once all are known
+				Map<String, Integer> offsets = null;
+				do {
+					String key = key();
+					List<Projection.Node> next = null;
+					for (Projection.Node n : nodes)
+						next = n.step(key, next);
+					if (next != null) {
+						if (offsets == null)
+							offsets = new LinkedHashMap<String, Integer>();
+						offsets.put(key, pos);
+					}
+					skipValue();
+				} while (more('}'));
+				if (offsets != null) {
+					int after = pos;
+					for (Map.Entry<String, Integer> e : offsets.entrySet()) {
+						List<Projection.Node> next = null;
+						for (Projection.Node n : nodes)
+							next = n.step(e.getKey(), next);
+						pos = e.getValue();
+						project(next, projection);
+					}
+					pos = after;
+				}
+			}
+		} else if (c == '[') {
+			if (enter(']')) {
+				int i = 0;
+				do {
+					List<Projection.Node> next = null;
+					for (Projection.Node n : nodes)
+						next = n.step(i, next);
+					i++;
+					if (next == null)
+						skipValue();
+					else
+						project(next, projection);
+				} while (more(']'));
+			}
+		} else
+			skipValue();
+	}
+
+	/**
+	 * Creates the key cache called for by the options if none was provided.
+	 */
+	private void prepare() {
+		if (keys == null && options.keyCache() > 0)
+			keys = new KeyCache(options.keyCache());
+	}
+
+	/**
+	 * Advances to the root value, which must be an object or array.
+	 */
+	private void root() {
+		skipSpace();
+		if (pos == length)
+			throw error();
+		int c = at(pos);
+		if (c != '{' && c != '[')
+			throw error();
+	}
+
+	/**
+	 * Confirms nothing but whitespace follows the root value.
+	 */
+	private void end() {
+		skipSpace();
+		if (pos < length)
+			throw error();
+	}
+
+	private Map<String, Object> parseObject() {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		if (enter('}')) {
+			do {
+				String key = key();
+				map.put(key, parseValue());
+			} while (more('}'));
+		}
+		return map;
+	}
+
+	private List<Object> parseArray() {
+		List<Object> list = new ArrayList<Object>();
+		if (enter(']')) {
+			do
+				list.add(parseValue());
+			while (more(']'));
+		}
+		return list;
+	}
+
+	/**
+	 * Consumes the opening bracket of an object or array.
+	 *
+	 * @param close
+	 *            closing bracket
+	 * @return whether the object or array has any members; if not, the
+	 *         closing bracket is consumed as well
+	 */
+	boolean enter(char close) {
+		pos++;
+		skipSpace();
+		if (pos < length && at(pos) == close) {
+			pos++;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Consumes the separator following a member of an object or array.
+	 *
+	 * @param close
+	 *            closing bracket
+	 * @return whether another member follows; if not, the closing bracket has
+	 *         been consumed
+	 */
+	boolean more(char close) {
+		skipSpace();
+		if (pos == length)
+			throw error();
+		int c = at(pos);
+		if (c == ',') {
+			pos++;
+			skipSpace();
+			return true;
+		}
+		if (c == close) {
+			pos++;
+			return false;
+		}
+		throw error();
+	}
+
+	/**
+	 * Parses an object key and the colon following it.
+	 *
+	 * @return the key
+	 */
+	String key() {
+		if (pos == length || at(pos) != '"')
+			throw error();
+		String key = parseString(keys);
+		colon();
+		return key;
+	}
+
+	private void colon() {
+		skipSpace();
+		if (pos == length || at(pos) != ':')
+			throw error();
+		pos++;
+		skipSpace();
+	}
+
+	private Object parseValue() {
+		if (pos == length)
+			throw error();
+		switch (at(pos)) {
+		case '"':
+			return parseString(null);
+		case '{':
+			return parseObject();
+		case '[':
+			return parseArray();
+		case 't':
+			literal("true");
+			return Boolean.TRUE;
+		case 'f':
+			literal("false");
+			return Boolean.FALSE;
+		case 'n':
+			literal("null");
+			return null;
+		case '-':
+		case '0':
+		case '1':
+		case '2':
+		case '3':
+		case '4':
+		case '5':
+		case '6':
+		case '7':
+		case '8':
+		case '9':
+			return parseNumber();
+		default:
+			throw error();
+		}
+	}
+
+	/**
+	 * Reports the events of the current value to a handler, as
+	 * {@link #parseValue()} would convert it.
+	 *
+	 * @param h
+	 */
+	private void handleValue(JSONHandler h) {
+		if (pos == length)
+			throw error();
+		switch (at(pos)) {
+		case '"':
+			h.stringValue(parseString(null));
+			break;
+		case '{':
+			h.startObject();
+			if (enter('}')) {
+				do {
+					h.key(key());
+					handleValue(h);
+				} while (more('}'));
+			}
+			h.endObject();
+			break;
+		case '[':
+			h.startArray();
+			if (enter(']')) {
+				do
+					handleValue(h);
+				while (more(']'));
+			}
+			h.endArray();
+			break;
+		case 't':
+			literal("true");
+			h.booleanValue(true);
+			break;
+		case 'f':
+			literal("false");
+			h.booleanValue(false);
+			break;
+		case 'n':
+			literal("null");
+			h.nullValue();
+			break;
+		case '-':
+		case '0':
+		case '1':
+		case '2':
+		case '3':
+		case '4':
+		case '5':
+		case '6':
+		case '7':
+		case '8':
+		case '9':
+			h.numberValue(parseNumber());
+			break;
+		default:
+			throw error();
+		}
+	}
+
+	/**
+	 * Validates and advances past a value without converting it. If there is
+	 * an {@link #index}, containers are recorded in it, or, once it is
+	 * complete, skipped by consulting it.
+	 */
+	void skipValue() {
+		if (pos == length)
+			throw error();
+		int slot;
+		switch (at(pos)) {
+		case '"':
+			skipString();
+			break;
+		case '{':
+			if (index != null) {
+				if (index.complete) {
+					pos = index.end(pos);
+					break;
+				}
+				slot = index.open(pos);
+			} else
+				slot = -1;
+			if (enter('}')) {
+				do {
+					if (pos == length || at(pos) != '"')
+						throw error();
+					skipString();
+					colon();
+					skipValue();
+				} while (more('}'));
+			}
+			if (slot > -1)
+				index.close(slot, pos);
+			break;
+		case '[':
+			if (index != null) {
+				if (index.complete) {
+					pos = index.end(pos);
+					break;
+				}
+				slot = index.open(pos);
+			} else
+				slot = -1;
+			if (enter(']')) {
+				do
+					skipValue();
+				while (more(']'));
+			}
+			if (slot > -1)
+				index.close(slot, pos);
+			break;
+		case 't':
+			literal("true");
+			break;
+		case 'f':
+			literal("false");
+			break;
+		case 'n':
+			literal("null");
+			break;
+		case '-':
+		case '0':
+		case '1':
+		case '2':
+		case '3':
+		case '4':
+		case '5':
+		case '6':
+		case '7':
+		case '8':
+		case '9':
+			scanNumber();
+			break;
+		default:
+			throw error();
+		}
+	}
+
+	/**
+	 * Follows a path from the current value, validating but not converting
+	 * everything off the path. Where a key occurs more than once in an
+	 * object, the last occurrence is used, as in {@link #parseObject()}.
+	 *
+	 * @param path
+	 *            keys and indices
+	 * @param i
+	 *            index of the next step in the path
+	 * @param kind
+	 *            kind of basic type array expected at the end of the path
+	 * @return the array at the end of the path or {@link #MISSING}
+	 */
+	private Object find(String[] path, int i, int kind) {
+		if (i == path.length)
+			return basicArray(kind);
+		Object found = MISSING;
+		int c = at(pos);
+		if (c == '{') {
+			if (enter('}')) {
+				do {
+					if (key().equals(path[i]))
+						found = find(path, i + 1, kind);
+					else
+						skipValue();
+				} while (more('}'));
+			}
+		} else if (c == '[') {
+			int index = index(path[i]);
+			if (enter(']')) {
+				int n = 0;
+				do {
+					if (n++ == index)
+						found = find(path, i + 1, kind);
+					else
+						skipValue();
+				} while (more(']'));
+			}
+		} else
+			skipValue();
+		return found;
+	}
+
+	/**
+	 * @param step
+	 *            path step
+	 * @return the step as an array index, or -1 if it is not one
+	 */
+	static int index(String step) {
+		if (step.length() == 0 || step.length() > 9
+				|| (step.length() > 1 && step.charAt(0) == '0'))
+			return -1;
+		for (int i = 0; i < step.length(); i++) {
+			char c = step.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+		}
+		return Integer.parseInt(step);
+	}
+
+	/**
+	 * Converts the array at the current position into a basic type array
+	 * without creating an object per element.
+	 *
+	 * @param kind
+	 *            {@link #INTS}, {@link #LONGS}, or {@link #DOUBLES}
+	 * @return an {@code int[]}, {@code long[]}, or {@code double[]}
+	 */
+	private Object basicArray(int kind) {
+		if (at(pos) != '[') {
+			int start = pos;
+			skipValue(); // syntax errors take precedence
+			throw error("array expected", start);
+		}
+		int n = 0;
+		int[] ints = null;
+		long[] longs = null;
+		double[] doubles = null;
+		switch (kind) {
+		case INTS:
+			ints = new int[16];
+			break;
+		case LONGS:
+			longs = new long[16];
+			break;
+		default:
+			doubles = new double[16];
+		}
+		if (enter(']')) {
+			do {
+				int c = at(pos);
+				if (c != '-' && (c < '0' || c > '9')) {
+					int start = pos;
+					skipValue();
+					throw error("number expected", start);
+				}
+				switch (kind) {
+				case INTS:
+					if (n == ints.length)
+						ints = Arrays.copyOf(ints, n * 2);
+					ints[n++] = (int) integer(Integer.MIN_VALUE,
+							Integer.MAX_VALUE);
+					break;
+				case LONGS:
+					if (n == longs.length)
+						longs = Arrays.copyOf(longs, n * 2);
+					longs[n++] = integer(Long.MIN_VALUE, Long.MAX_VALUE);
+					break;
+				default:
+					if (n == doubles.length)
+						doubles = Arrays.copyOf(doubles, n * 2);
+					doubles[n++] = decimal();
+				}
+			} while (more(']'));
+		}
+		switch (kind) {
+		case INTS:
+			return Arrays.copyOf(ints, n);
+		case LONGS:
+			return Arrays.copyOf(longs, n);
+		default:
+			return Arrays.copyOf(doubles, n);
+		}
+	}
+
+	/**
+	 * Parses an integral number directly from its digits.
+	 *
+	 * @param min
+	 *            least value permitted
+	 * @param max
+	 *            greatest value permitted
+	 * @return value of number
+	 */
+	private long integer(long min, long max) {
+		int start = pos;
+		if (!scanNumber())
+			throw error("integer expected", start);
+		if (!accumulate(start, pos) || accumulated < min || accumulated > max)
+			throw error("integer out of range", start);
+		return accumulated;
+	}
+
+	/**
+	 * Converts the digits of an integer to a long, leaving the result in
+	 * {@link #accumulated}.
+	 *
+	 * @param start
+	 *            offset of the integer
+	 * @param end
+	 *            offset after its last digit
+	 * @return whether the integer fits in a long
+	 */
+	private boolean accumulate(int start, int end) {
+		int i = start;
+		boolean negative = at(i) == '-';
+		if (negative)
+			i++;
+		// accumulate negatively so the minimum value can be reached
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multmin = limit / 10, v = 0;
+		for (; i < end; i++) {
+			int d = at(i) - '0';
+			if (v < multmin)
+				return false;
+			v *= 10;
+			if (v < limit + d)
+				return false;
+			v -= d;
+		}
+		accumulated = negative ? v : -v;
+		return true;
+	}
+
+	/**
+	 * Parses a number as a double. Numbers with at most 15 significant digits
+	 * and a small exponent are converted exactly with a single multiplication
+	 * or division; others are handed to {@link Double#parseDouble(String)}.
+	 *
+	 * @return value of number
+	 */
+	private double decimal() {
+		int start = pos;
+		scanNumber();
+		return decimal(start, pos);
+	}
+
+	/**
+	 * @param start
+	 *            offset of number
+	 * @param end
+	 *            offset after number
+	 * @return value of number as a double
+	 * @see #decimal()
+	 */
+	private double decimal(int start, int end) {
+		int i = start;
+		boolean negative = at(i) == '-';
+		if (negative)
+			i++;
+		long m = 0;
+		int digits = 0, scale = 0;
+		boolean fraction = false;
+		for (; i < end; i++) {
+			int c = at(i);
+			if (c == '.')
+				fraction = true;
+			else if (c == 'e' || c == 'E')
+				break;
+			else {
+				m = m * 10 + c - '0';
+				if (m > 0 && ++digits > 15)
+					return Double.parseDouble(string(start, end));
+				if (fraction)
+					scale++;
+			}
+		}
+		int exponent = 0;
+		if (i < end) {
+			i++;
+			boolean negativeExponent = at(i) == '-';
+			if (negativeExponent || at(i) == '+')
+				i++;
+			for (; i < end; i++) {
+				exponent = exponent * 10 + at(i) - '0';
+				if (exponent > 400)
+					return Double.parseDouble(string(start, end));
+			}
+			if (negativeExponent)
+				exponent = -exponent;
+		}
+		exponent -= scale;
+		double d;
+		if (m == 0)
+			d = 0;
+		else if (exponent >= 0 && exponent < POW10.length)
+			d = m * POW10[exponent];
+		else if (exponent < 0 && -exponent < POW10.length)
+			d = m / POW10[-exponent];
+		else
+			return Double.parseDouble(string(start, end));
+		return negative ? -d : d;
+	}
+
+	private void literal(String word) {
+		int n = word.length();
+		if (pos + n > length)
+			throw error();
+		for (int i = 0; i < n; i++) {
+			if (at(pos + i) != word.charAt(i))
+				throw error();
+		}
+		pos += n;
+	}
+
+	private Number parseNumber() {
+		int start = pos;
+		boolean integral = scanNumber();
+		switch (options.numbers()) {
+		case FAST:
+			if (!integral)
+				return Double.valueOf(decimal(start, pos));
+			if (accumulate(start, pos))
+				return Long.valueOf(accumulated);
+			return new BigInteger(string(start, pos));
+		case LAZY:
+			return new LazyNumber(source(), start, pos, integral);
+		default:
+			String s = string(start, pos);
+			if (integral)
+				return new BigInteger(s);
+			return new BigDecimal(s);
+		}
+	}
+
+	/**
+	 * Advances past a number.
+	 *
+	 * @return whether the number has neither fraction nor exponent
+	 */
+	private boolean scanNumber() {
+		int start = pos;
+		if (at(pos) == '-')
+			pos++;
+		if (pos == length)
+			throw error(start);
+		int c = at(pos);
+		if (c == '0')
+			pos++;
+		else if (c >= '1' && c <= '9')
+			pos = digits(pos + 1);
+		else
+			throw error(start);
+		boolean integral = true;
+		if (pos + 1 < length && at(pos) == '.' && isDigit(pos + 1)) {
+			pos = digits(pos + 2);
+			integral = false;
+		}
+		if (pos + 1 < length) {
+			c = at(pos);
+			if (c == 'e' || c == 'E') {
+				int i = pos + 1;
+				c = at(i);
+				if (c == '+' || c == '-')
+					i++;
+				if (i < length && isDigit(i)) {
+					pos = digits(i + 1);
+					integral = false;
+				}
+			}
+		}
+		return integral;
+	}
+
+	private boolean isDigit(int i) {
+		int c = at(i);
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * @param i
+	 * @return offset of first non-digit at or after i
+	 */
+	private int digits(int i) {
+		while (i < length && isDigit(i))
+			i++;
+		return i;
+	}
+
+	/**
+	 * Parses a string starting at the current opening quote. Strings free of
+	 * escapes are decoded directly from the source span.
+	 *
+	 * @param cache
+	 *            cache in which to look up strings free of escapes; may be null
+	 * @return unescaped string
+	 */
+	private String parseString(KeyCache cache) {
+		int start = ++pos;
+		int i = scan(start);
+		if (i == length)
+			throw error(length);
+		int c = at(i);
+		if (c == '"') {
+			pos = i + 1;
+			if (cache != null)
+				return cache.get(this, start, i);
+			return string(start, i);
+		}
+		if (c == '\\')
+			return parseEscapedString(start, i);
+		throw error(i);
+	}
+
+	/**
+	 * Continues parsing a string once the first escape is found.
+	 *
+	 * @param start
+	 *            offset of first character after the opening quote
+	 * @param i
+	 *            offset of the first backslash
+	 * @return unescaped string
+	 */
+	private String parseEscapedString(int start, int i) {
+		StringBuilder b = scratch;
+		if (b == null)
+			b = scratch = new StringBuilder(i - start + 16);
+		else
+			b.setLength(0);
+		append(b, start, i);
+		while (i < length) {
+			int c = at(i);
+			if (c == '"') {
+				pos = i + 1;
+				return b.toString();
+			}
+			if (c == '\\')
+				i = escape(i + 1, b);
+			else if (forbidden(c))
+				throw error(i);
+			else {
+				int runStart = i;
+				i = scan(i + 1);
+				append(b, runStart, i);
+			}
+		}
+		throw error(length);
+	}
+
+	/**
+	 * Validates and advances past a string starting at the current opening
+	 * quote without decoding it.
+	 */
+	private void skipString() {
+		int i = pos + 1;
+		while (true) {
+			i = scan(i);
+			if (i == length)
+				throw error(length);
+			int c = at(i);
+			if (c == '"') {
+				pos = i + 1;
+				return;
+			}
+			if (c == '\\')
+				i = escape(i + 1, null);
+			else
+				throw error(i);
+		}
+	}
+
+	/**
+	 * Decodes an escape sequence.
+	 *
+	 * @param i
+	 *            offset of the character following the backslash
+	 * @param b
+	 *            receives the decoded character; if null, the escape is only
+	 *            validated
+	 * @return offset of the character following the escape sequence
+	 */
+	private int escape(int i, StringBuilder b) {
+		if (i == length)
+			throw error(i);
+		int c = at(i);
+		switch (c) {
+		case 'r':
+			c = '\r';
+			break;
+		case 't':
+			c = '\t';
+			break;
+		case 'b':
+			c = '\b';
+			break;
+		case 'n':
+			c = '\n';
+			break;
+		case 'f':
+			c = '\f';
+			break;
+		case '\\':
+		case '"':
+		case '/':
+			break;
+		case 'u':
+			c = hex(i + 1);
+			i += 4;
+			break;
+		default:
+			throw error(i);
+		}
+		if (b != null)
+			b.append((char) c);
+		return i + 1;
+	}
+
+	/**
+	 * Decodes the four hex digits of a unicode escape.
+	 *
+	 * @param i
+	 *            offset of first hex digit
+	 * @return encoded character
+	 */
+	private char hex(int i) {
+		if (i + 4 > length)
+			throw error(i - 1);
+		int v = 0;
+		for (int j = i; j < i + 4; j++) {
+			int d = hexDigit(at(j));
+			if (d < 0)
+				throw error(i - 1);
+			v = (v << 4) | d;
+		}
+		return (char) v;
+	}
+
+	/**
+	 * Unlike {@link Character#digit(int, int)}, accepts only the ASCII hex
+	 * digits, as do the grammar and RFC 8259.
+	 *
+	 * @param c
+	 * @return value of the hex digit, or -1 if the character is not one
+	 */
+	static int hexDigit(int c) {
+		if (c >= '0' && c <= '9')
+			return c - '0';
+		if (c >= 'a' && c <= 'f')
+			return c - 'a' + 10;
+		if (c >= 'A' && c <= 'F')
+			return c - 'A' + 10;
+		return -1;
+	}
+
+	/**
+	 * @param c
+	 * @return whether the character may not appear unescaped in a string
+	 */
+	static boolean forbidden(int c) {
+		switch (c) {
+		case '\t':
+		case '\r':
+		case '\f':
+		case '\n':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Advances past whitespace as defined by {@code \s} in
+	 * {@link java.util.regex.Pattern}.
+	 */
+	private void skipSpace() {
+		while (pos < length) {
+			switch (at(pos)) {
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\u000B':
+			case '\f':
+			case '\r':
+				pos++;
+				break;
+			default:
+				return;
+			}
+		}
+	}
+
+	private JSONSimpleException error() {
+		return error(pos);
+	}
+
+	JSONSimpleException error(int offset) {
+		return error("parsing failed", offset);
+	}
+}
@@ -0,0 +1,80 @@
+package dfh.json.simple;
+
+/**
+ * Receiver of the events of a JSON document as it is parsed. The parser calls
+ * the handler directly as it consumes the text, building no collections, so a
+ * handler that only aggregates, summing a field or counting keys, does so
+ * without allocating a tree.
+ * <p>
+ * Events arrive in document order. An object produces {@link #startObject()},
+ * then for each member {@link #key(String)} followed by the events of its
+ * value, then {@link #endObject()}; an array is delimited likewise by
+ * {@link #startArray()} and {@link #endArray()}. Numbers are represented as
+ * the parser's {@link ParseOptions#numbers(ParseOptions.NumberMode) number
+ * mode} specifies.
+ * <p>
+ * If the document is not well-formed, a {@link JSONSimpleException} is thrown
+ * describing the offset of the error, exactly as it would be by
+ * {@link Converter#convert(String)}; events preceding the error will have been
+ * delivered. An exception thrown by the handler stops parsing and is
+ * propagated to the caller.
+ * <p>
+ * Extend {@link JSONHandlerAdapter} to receive only some events.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public interface JSONHandler {
+	/**
+	 * Called at the opening brace of an object.
+	 */
+	void startObject();
+
+	/**
+	 * Called at the closing brace of an object.
+	 */
+	void endObject();
+
+	/**
+	 * Called at the opening bracket of an array.
+	 */
+	void startArray();
+
+	/**
+	 * Called at the closing bracket of an array.
+	 */
+	void endArray();
+
+	/**
+	 * Called for each member of an object before the events of its value.
+	 *
+	 * @param key
+	 *            unescaped key
+	 */
+	void key(String key);
+
+	/**
+	 * @param value
+	 *            unescaped string
+	 */
+	void stringValue(String value);
+
+	/**
+	 * @param value
+	 *            number, represented according to the number mode
+	 */
+	void numberValue(Number value);
+
+	/**
+	 * @param value
+	 *            {@code true} or {@code false}
+	 */
+	void booleanValue(boolean value);
+
+	/**
+	 * Called for {@code null}.
+	 */
+	void nullValue();
+}
@@ -0,0 +1,58 @@
+package dfh.json.simple;
+
+/**
+ * {@link JSONHandler} ignoring every event, to be extended by handlers
+ * interested in only some of them.
+ *
+ * <pre>
+ * final long[] total = new long[1];
+ * Converter.parse(json, new JSONHandlerAdapter() {
+ * 	&#64;Override
+ * 	public void numberValue(Number value) {
+ * 		total[0] += value.longValue();
+ * 	}
+ * });
+ * </pre>
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public abstract class JSONHandlerAdapter implements JSONHandler {
+	@Override
+	public void startObject() {
+	}
+
+	@Override
+	public void endObject() {
+	}
+
+	@Override
+	public void startArray() {
+	}
+
+	@Override
+	public void endArray() {
+	}
+
+	@Override
+	public void key(String key) {
+	}
+
+	@Override
+	public void stringValue(String value) {
+	}
+
+	@Override
+	public void numberValue(Number value) {
+	}
+
+	@Override
+	public void booleanValue(boolean value) {
+	}
+
+	@Override
+	public void nullValue() {
+	}
+}
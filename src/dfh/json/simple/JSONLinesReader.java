@@ -0,0 +1,316 @@
+package dfh.json.simple;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Reader of JSON Lines, also known as newline-delimited JSON: a sequence of
+ * documents, each an object or array on a line of its own. Lines may end in
+ * {@code \n}, {@code \r\n}, or {@code \r}; blank lines are skipped. Documents
+ * are returned one at a time, so files of any length may be read with memory
+ * for only a line, or a batch of lines, at a time.
+ * <p>
+ * Typical use:
+ *
+ * <pre>
+ * JSONLinesReader r = new JSONLinesReader(in).parallel(1000);
+ * try {
+ * 	for (Object record : r) {
+ * 		// ...
+ * 	}
+ * } finally {
+ * 	r.close();
+ * }
+ * </pre>
+ * <p>
+ * Errors are reported with the line number prefixed to the message, once the
+ * documents on the lines before have been returned, whether or not lines are
+ * read in batches. Iteration may continue past an error with the next line.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class JSONLinesReader implements Iterator<Object>, Iterable<Object>,
+		Closeable {
+	private final BufferedReader in;
+	private final Parser parser;
+	private int batch;
+	/**
+	 * documents parsed and not yet returned, and failures to parse them
+	 */
+	private final List<Object> parsed = new ArrayList<Object>();
+	private int index;
+	/**
+	 * lines read so far
+	 */
+	private long line;
+	private boolean eof;
+
+	/**
+	 * @param in
+	 *            source of JSON Lines
+	 */
+	public JSONLinesReader(Reader in) {
+		this(in, ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * @param in
+	 *            source of JSON Lines
+	 * @param options
+	 *            how each line is parsed
+	 */
+	public JSONLinesReader(Reader in, ParseOptions options) {
+		this.in = in instanceof BufferedReader ? (BufferedReader) in
+				: new BufferedReader(in, JSONReader.DEFAULT_BUFFER_SIZE);
+		this.parser = new Parser(options);
+	}
+
+	/**
+	 * @param in
+	 *            source of UTF-8 encoded JSON Lines
+	 */
+	public JSONLinesReader(InputStream in) {
+		this(new InputStreamReader(in, JSONReader.UTF8));
+	}
+
+	/**
+	 * Sets the reader to read lines in batches, each batch being parsed on the
+	 * fork-join pool shared with {@link ParseOptions#parallel(int)}. Documents
+	 * are still returned in order.
+	 *
+	 * @param batch
+	 *            number of lines per batch; 0, the default, to parse each line
+	 *            as it is read on the calling thread
+	 * @return this
+	 */
+	public JSONLinesReader parallel(int batch) {
+		if (batch < 0)
+			throw new JSONSimpleException("batch size must be non-negative");
+		this.batch = batch;
+		return this;
+	}
+
+	/**
+	 * @return this reader; it can be iterated over only once
+	 */
+	@Override
+	public Iterator<Object> iterator() {
+		return this;
+	}
+
+	/**
+	 * @throws JSONSimpleException
+	 *             if a line is not well-formed JSON or cannot be read
+	 */
+	@Override
+	public boolean hasNext() throws JSONSimpleException {
+		if (!ready())
+			return false;
+		if (parsed.get(index) instanceof Failure)
+			throw failure();
+		return true;
+	}
+
+	/**
+	 * @return the next document, a map or a list
+	 * @throws JSONSimpleException
+	 *             if a line is not well-formed JSON or cannot be read
+	 */
+	@Override
+	public Object next() throws JSONSimpleException {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		return parsed.get(index++);
+	}
+
+	/**
+	 * Reads up to the given number of documents.
+	 *
+	 * @param n
+	 *            maximum number of documents to return
+	 * @return the next documents; empty when the input is exhausted
+	 * @throws JSONSimpleException
+	 *             if a line is not well-formed JSON or cannot be read
+	 */
+	public List<Object> next(int n) throws JSONSimpleException {
+		List<Object> list = new ArrayList<Object>(Math.min(n, 1024));
+		while (list.size() < n && ready()) {
+			if (parsed.get(index) instanceof Failure) {
+				// documents already read are returned; the next call throws
+				if (list.isEmpty())
+					throw failure();
+				break;
+			}
+			list.add(parsed.get(index++));
+		}
+		return list;
+	}
+
+	/**
+	 * Reads more lines if those already parsed are exhausted.
+	 *
+	 * @return whether a document or failure remains
+	 */
+	private boolean ready() {
+		if (index == parsed.size()) {
+			parsed.clear();
+			index = 0;
+			if (!eof)
+				fill();
+		}
+		return index < parsed.size();
+	}
+
+	/**
+	 * @return the pending failure, which is consumed
+	 */
+	private RuntimeException failure() {
+		return ((Failure) parsed.get(index++)).e;
+	}
+
+	/**
+	 * @return number of lines read so far, blank lines included
+	 */
+	public long line() {
+		return line;
+	}
+
+	/**
+	 * Unsupported.
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Closes the underlying reader.
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Reads and parses the next line or batch of lines.
+	 */
+	private void fill() {
+		List<String> lines = new ArrayList<String>();
+		List<Long> numbers = new ArrayList<Long>();
+		int n = Math.max(1, batch);
+		while (lines.size() < n) {
+			String s = readLine();
+			if (s == null) {
+				eof = true;
+				break;
+			}
+			if (!blank(s)) {
+				lines.add(s);
+				numbers.add(line);
+			}
+		}
+		if (batch == 0 || lines.size() < 2) {
+			for (int i = 0; i < lines.size(); i++) {
+				try {
+					parsed.add(parse(lines.get(i), numbers.get(i)));
+				} catch (JSONSimpleException e) {
+					parsed.add(new Failure(e));
+				}
+			}
+			return;
+		}
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(
+				lines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			final String s = lines.get(i);
+			final long number = numbers.get(i);
+			tasks.add(new Callable<Object>() {
+				@Override
+				public Object call() {
+					return parse(s, number);
+				}
+			});
+		}
+		try {
+			for (Future<Object> f : ParallelArray.pool().invokeAll(tasks)) {
+				try {
+					parsed.add(f.get());
+				} catch (ExecutionException e) {
+					Throwable t = e.getCause();
+					if (t instanceof Error)
+						throw (Error) t;
+					// thrown when reached
+					parsed.add(new Failure((RuntimeException) t));
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JSONSimpleException("interrupted while parsing", e);
+		}
+	}
+
+	/**
+	 * A line which could not be parsed, thrown when it is reached.
+	 */
+	private static final class Failure {
+		final RuntimeException e;
+
+		Failure(RuntimeException e) {
+			this.e = e;
+		}
+	}
+
+	private Object parse(String s, long number) {
+		try {
+			return parser.parse(s);
+		} catch (JSONSimpleException e) {
+			throw new JSONSimpleException("line " + number + ": "
+					+ e.getMessage(), e);
+		}
+	}
+
+	private String readLine() {
+		try {
+			String s = in.readLine();
+			if (s != null)
+				line++;
+			return s;
+		} catch (IOException e) {
+			throw new JSONSimpleException("failed to read JSON: "
+					+ e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @param s
+	 * @return whether the line holds nothing but whitespace
+	 */
+	private static boolean blank(String s) {
+		for (int i = 0; i < s.length(); i++) {
+			switch (s.charAt(i)) {
+			case ' ':
+			case '\t':
+			case '\u000B':
+			case '\f':
+				break;
+			default:
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,191 @@
+package dfh.json.simple;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Writer of JSON Lines, also known as newline-delimited JSON: each value is
+ * written as compact JSON followed by {@code \n}. Output is buffered and
+ * passed to the destination in chunks, as by {@link JSONWriter}.
+ * <p>
+ * Typical use:
+ *
+ * <pre>
+ * JSONLinesWriter w = new JSONLinesWriter(out).parallel(true);
+ * while (source.hasMore())
+ * 	w.writeAll(source.nextBatch());
+ * w.close();
+ * </pre>
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class JSONLinesWriter implements Closeable, Flushable {
+	private final Appendable target;
+	private final Output out;
+	private boolean parallel;
+
+	/**
+	 * @param target
+	 *            destination of JSON Lines
+	 */
+	public JSONLinesWriter(Appendable target) {
+		this(target, SerializeOptions.DEFAULT);
+	}
+
+	/**
+	 * @param target
+	 *            destination of JSON Lines
+	 * @param options
+	 *            serialization settings; indentation is ignored, as each value
+	 *            must occupy a single line
+	 */
+	public JSONLinesWriter(Appendable target, SerializeOptions options) {
+		this.target = target;
+		this.out = new Output(target);
+		out.options = new SerializeOptions(options).indent(-1);
+	}
+
+	/**
+	 * @param out
+	 *            destination of UTF-8 encoded JSON Lines
+	 */
+	public JSONLinesWriter(OutputStream out) {
+		this(new OutputStreamWriter(out, JSONReader.UTF8));
+	}
+
+	/**
+	 * Sets whether {@link #writeAll(Collection)} serializes the values of a
+	 * batch on the fork-join pool shared with
+	 * {@link SerializeOptions#parallel(int)}. Lines are written in the order
+	 * of the batch regardless.
+	 *
+	 * @param parallel
+	 *            whether to serialize batches in parallel
+	 * @return this
+	 */
+	public JSONLinesWriter parallel(boolean parallel) {
+		this.parallel = parallel;
+		return this;
+	}
+
+	/**
+	 * Writes a value as a single line.
+	 *
+	 * @param value
+	 *            a map, collection, or array {@link Converter} can convert;
+	 *            other values are not documents {@link JSONLinesReader} will
+	 *            accept
+	 * @return this
+	 * @throws JSONSimpleException
+	 *             if the value cannot be converted or the output cannot be
+	 *             written
+	 */
+	public JSONLinesWriter write(Object value) throws JSONSimpleException {
+		Converter.write(document(value), out);
+		out.append('\n');
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * Writes each of a batch of values as a line.
+	 *
+	 * @param values
+	 *            maps, collections, or arrays
+	 * @return this
+	 * @throws JSONSimpleException
+	 *             if a value cannot be converted or the output cannot be
+	 *             written; lines preceding the failed value will have been
+	 *             written
+	 */
+	public JSONLinesWriter writeAll(Collection<?> values)
+			throws JSONSimpleException {
+		if (!parallel || values.size() < 2) {
+			for (Object value : values)
+				write(value);
+			return this;
+		}
+		final SerializeOptions options = out.options;
+		List<Callable<Output>> tasks = new ArrayList<Callable<Output>>(
+				values.size());
+		for (final Object value : values) {
+			tasks.add(new Callable<Output>() {
+				@Override
+				public Output call() {
+					Output o = new Output(new StringBuilder());
+					o.options = options;
+					Converter.write(document(value), o);
+					return o.append('\n');
+				}
+			});
+		}
+		try {
+			for (Future<Output> f : ParallelArray.pool().invokeAll(tasks)) {
+				Output o = f.get();
+				out.append(o.b, 0, o.b.length());
+				out.mark();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JSONSimpleException("interrupted while serializing", e);
+		} catch (ExecutionException e) {
+			Throwable t = e.getCause();
+			if (t instanceof Error)
+				throw (Error) t;
+			throw (RuntimeException) t;
+		}
+		return this;
+	}
+
+	/**
+	 * @param value
+	 *            value to be written as a line
+	 * @return the value, with a collection other than a list copied into one
+	 * @throws JSONSimpleException
+	 *             if the value is not a map, collection, or array
+	 */
+	private static Object document(Object value) throws JSONSimpleException {
+		if (value instanceof List<?> || value instanceof Map<?, ?>
+				|| (value != null && value.getClass().isArray()))
+			return value;
+		if (value instanceof Collection<?>)
+			return new ArrayList<Object>((Collection<?>) value);
+		throw new JSONSimpleException(
+				"lines must hold maps, collections, or arrays, not "
+						+ (value == null ? "null" : value.getClass().getName()));
+	}
+
+	/**
+	 * Passes all buffered output to the destination and flushes the
+	 * destination if it is {@link Flushable}.
+	 */
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+		if (target instanceof Flushable)
+			((Flushable) target).flush();
+	}
+
+	/**
+	 * Flushes output and closes the destination if it is {@link Closeable}.
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+		if (target instanceof Closeable)
+			((Closeable) target).close();
+	}
+}
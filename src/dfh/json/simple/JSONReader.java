@@ -0,0 +1,710 @@
+package dfh.json.simple;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull parser reading a JSON document as a sequence of {@link Token tokens}.
+ * Input is consumed incrementally through a fixed size buffer, so memory use
+ * is independent of document size; only an individual string or number must
+ * fit in memory. The language accepted is that of {@link Converter#JSON_RULES}
+ * and errors are reported with the same messages as
+ * {@link Converter#convert(String)}.
+ * <p>
+ * Typical use:
+ *
+ * <pre>
+ * JSONReader r = new JSONReader(in);
+ * if (r.next() == Token.START_ARRAY) {
+ * 	while (r.next() != Token.END_ARRAY) {
+ * 		Object record = r.value();
+ * 		// ...
+ * 	}
+ * }
+ * </pre>
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class JSONReader implements Closeable {
+	/**
+	 * Lexical units of a JSON document.
+	 */
+	public enum Token {
+		START_OBJECT, END_OBJECT, START_ARRAY, END_ARRAY, FIELD_NAME, //
+		VALUE_STRING, VALUE_NUMBER, VALUE_TRUE, VALUE_FALSE, VALUE_NULL
+	}
+
+	/**
+	 * Default size of the character buffer.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+	static final Charset UTF8 = Charset.forName("UTF-8");
+	/**
+	 * number of characters preceding the read position retained across
+	 * buffer refills for error messages
+	 */
+	private static final int CONTEXT = 20;
+
+	private static final byte OBJECT = 0, ARRAY = 1;
+	private static final int ROOT = 0, FIRST_KEY = 1, KEY = 2, COLON = 3,
+			FIRST_VALUE = 4, VALUE = 5, AFTER = 6, END = 7;
+
+	private final Reader reader;
+	private final char[] buf;
+	private int pos, limit;
+	/**
+	 * offset in the document of {@code buf[0]}
+	 */
+	private long base;
+	private boolean eof;
+	private byte[] stack = new byte[32];
+	private int depth;
+	private int state = ROOT;
+	private final StringBuilder scratch;
+	/**
+	 * representation of numbers in {@link #value()}
+	 */
+	ParseOptions options = ParseOptions.DEFAULT;
+	/**
+	 * whether to keep the text of strings as it appears in the document; see
+	 * {@link #verbatim()}
+	 */
+	boolean raw;
+	/**
+	 * receives the text of strings containing escapes when {@link #raw}
+	 */
+	private StringBuilder rawScratch;
+	private String verbatim;
+
+	private Token token;
+	private long tokenOffset;
+	private String string;
+	private boolean integral;
+
+	/**
+	 * @param reader
+	 *            source of JSON
+	 */
+	public JSONReader(Reader reader) {
+		this(reader, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @param reader
+	 *            source of JSON
+	 * @param bufferSize
+	 *            size of character buffer
+	 */
+	public JSONReader(Reader reader, int bufferSize) {
+		this(reader, new char[Math.max(bufferSize, 4 * CONTEXT)],
+				new StringBuilder());
+	}
+
+	/**
+	 * @param reader
+	 *            source of JSON
+	 * @param buf
+	 *            character buffer, at least 80 characters long
+	 * @param scratch
+	 *            empty buffer for strings containing escapes
+	 */
+	JSONReader(Reader reader, char[] buf, StringBuilder scratch) {
+		this.reader = reader;
+		this.buf = buf;
+		this.scratch = scratch;
+	}
+
+	/**
+	 * @param in
+	 *            source of UTF-8 encoded JSON
+	 */
+	public JSONReader(InputStream in) {
+		this(new InputStreamReader(in, UTF8));
+	}
+
+	/**
+	 * @param json
+	 *            JSON string
+	 */
+	public JSONReader(String json) {
+		this(new StringReader(json), Math.min(json.length() + 1,
+				DEFAULT_BUFFER_SIZE));
+	}
+
+	/**
+	 * Advances to the next token.
+	 *
+	 * @return the next token, or {@code null} when the document is complete
+	 * @throws JSONSimpleException
+	 *             if the text is not well-formed JSON or cannot be read
+	 */
+	public Token next() throws JSONSimpleException {
+		string = null;
+		while (true) {
+			skipSpace();
+			tokenOffset = base + pos;
+			int c = pos < limit ? buf[pos] : -1;
+			switch (state) {
+			case ROOT:
+				if (c == '{')
+					return token = open(OBJECT, Token.START_OBJECT);
+				if (c == '[')
+					return token = open(ARRAY, Token.START_ARRAY);
+				throw error();
+			case FIRST_KEY:
+				if (c == '}')
+					return token = close(Token.END_OBJECT);
+				// fall through
+			case KEY:
+				if (c != '"')
+					throw error();
+				string = readString();
+				state = COLON;
+				return token = Token.FIELD_NAME;
+			case COLON:
+				if (c != ':')
+					throw error();
+				pos++;
+				state = VALUE;
+				continue;
+			case FIRST_VALUE:
+				if (c == ']')
+					return token = close(Token.END_ARRAY);
+				// fall through
+			case VALUE:
+				return token = value(c);
+			case AFTER:
+				byte top = stack[depth - 1];
+				if (c == ',') {
+					pos++;
+					state = top == OBJECT ? KEY : VALUE;
+					continue;
+				}
+				if (c == '}' && top == OBJECT)
+					return token = close(Token.END_OBJECT);
+				if (c == ']' && top == ARRAY)
+					return token = close(Token.END_ARRAY);
+				throw error();
+			default:
+				if (c != -1)
+					throw error();
+				return token = null;
+			}
+		}
+	}
+
+	/**
+	 * @return the token most recently returned by {@link #next()}
+	 */
+	public Token current() {
+		return token;
+	}
+
+	/**
+	 * @return offset in the document of the first character of the current
+	 *         token
+	 */
+	public long offset() {
+		return tokenOffset;
+	}
+
+	/**
+	 * @return number of containers enclosing the current position
+	 */
+	public int depth() {
+		return depth;
+	}
+
+	/**
+	 * @return unescaped field name or string value of the current token
+	 */
+	public String getString() {
+		if (token != Token.FIELD_NAME && token != Token.VALUE_STRING)
+			throw new JSONSimpleException("current token " + token
+					+ " is not a string");
+		return string;
+	}
+
+	/**
+	 * @return text of the current number token
+	 */
+	public String getText() {
+		if (token != Token.VALUE_NUMBER)
+			throw new JSONSimpleException("current token " + token
+					+ " is not a number");
+		return string;
+	}
+
+	/**
+	 * Returns the current string or number token as it appears in the
+	 * document, escapes and all, without the quotes delimiting strings. The
+	 * text of strings is only kept if {@link #raw} was set before the token
+	 * was read.
+	 *
+	 * @return verbatim text of the current token
+	 */
+	String verbatim() {
+		return token == Token.VALUE_NUMBER ? string : verbatim;
+	}
+
+	/**
+	 * @return current number token as a {@link BigInteger} or a
+	 *         {@link BigDecimal} as appropriate
+	 */
+	public Number getNumber() {
+		String s = getText();
+		if (integral)
+			return new BigInteger(s);
+		return new BigDecimal(s);
+	}
+
+	/**
+	 * If the current token opens an object or array, advances to the token
+	 * closing it. Otherwise does nothing.
+	 */
+	public void skipChildren() throws JSONSimpleException {
+		if (token != Token.START_OBJECT && token != Token.START_ARRAY)
+			return;
+		int d = depth - 1;
+		while (depth > d)
+			next();
+	}
+
+	/**
+	 * Converts the value beginning at the current token into a Java object,
+	 * leaving the reader on the last token of the value. Objects become
+	 * {@link LinkedHashMap LinkedHashMaps}, arrays {@link ArrayList
+	 * ArrayLists}, and numbers {@link BigInteger BigIntegers} or
+	 * {@link BigDecimal BigDecimals}, unless the reader belongs to a
+	 * {@link Parser} specifying another representation.
+	 *
+	 * @return the current value
+	 * @throws JSONSimpleException
+	 */
+	public Object value() throws JSONSimpleException {
+		if (token == null)
+			throw new JSONSimpleException("no current value");
+		switch (token) {
+		case START_OBJECT:
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			while (next() != Token.END_OBJECT) {
+				String key = string;
+				next();
+				map.put(key, value());
+			}
+			return map;
+		case START_ARRAY:
+			List<Object> list = new ArrayList<Object>();
+			while (next() != Token.END_ARRAY)
+				list.add(value());
+			return list;
+		case VALUE_STRING:
+			return string;
+		case VALUE_NUMBER:
+			return number();
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+		case VALUE_NULL:
+			return null;
+		default:
+			throw new JSONSimpleException("current token " + token
+					+ " does not begin a value");
+		}
+	}
+
+	/**
+	 * @return the current number token represented as {@link #value()} would
+	 *         represent it
+	 */
+	private Number number() {
+		switch (options.numbers()) {
+		case FAST:
+			return Converter.fastNumber(string, integral);
+		case LAZY:
+			return new LazyNumber(string, 0, string.length(), integral);
+		default:
+			return getNumber();
+		}
+	}
+
+	/**
+	 * Reads the remainder of the document, reporting its events to a handler.
+	 *
+	 * @param h
+	 *            receives the events
+	 * @throws JSONSimpleException
+	 *             if the text is not well-formed JSON or cannot be read
+	 */
+	void handle(JSONHandler h) throws JSONSimpleException {
+		Token t;
+		while ((t = next()) != null) {
+			switch (t) {
+			case START_OBJECT:
+				h.startObject();
+				break;
+			case END_OBJECT:
+				h.endObject();
+				break;
+			case START_ARRAY:
+				h.startArray();
+				break;
+			case END_ARRAY:
+				h.endArray();
+				break;
+			case FIELD_NAME:
+				h.key(string);
+				break;
+			case VALUE_STRING:
+				h.stringValue(string);
+				break;
+			case VALUE_NUMBER:
+				h.numberValue(number());
+				break;
+			case VALUE_TRUE:
+				h.booleanValue(true);
+				break;
+			case VALUE_FALSE:
+				h.booleanValue(false);
+				break;
+			case VALUE_NULL:
+				h.nullValue();
+			}
+		}
+	}
+
+	/**
+	 * Closes the underlying reader.
+	 */
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private Token value(int c) {
+		switch (c) {
+		case '{':
+			return open(OBJECT, Token.START_OBJECT);
+		case '[':
+			return open(ARRAY, Token.START_ARRAY);
+		case '"':
+			string = readString();
+			state = AFTER;
+			return Token.VALUE_STRING;
+		case 't':
+			literal("true");
+			return Token.VALUE_TRUE;
+		case 'f':
+			literal("false");
+			return Token.VALUE_FALSE;
+		case 'n':
+			literal("null");
+			return Token.VALUE_NULL;
+		case '-':
+		case '0':
+		case '1':
+		case '2':
+		case '3':
+		case '4':
+		case '5':
+		case '6':
+		case '7':
+		case '8':
+		case '9':
+			readNumber();
+			state = AFTER;
+			return Token.VALUE_NUMBER;
+		default:
+			throw error();
+		}
+	}
+
+	private Token open(byte type, Token t) {
+		pos++;
+		if (depth == stack.length) {
+			byte[] ar = new byte[depth * 2];
+			System.arraycopy(stack, 0, ar, 0, depth);
+			stack = ar;
+		}
+		stack[depth++] = type;
+		state = type == OBJECT ? FIRST_KEY : FIRST_VALUE;
+		return t;
+	}
+
+	private Token close(Token t) {
+		pos++;
+		depth--;
+		state = depth == 0 ? END : AFTER;
+		return t;
+	}
+
+	private void literal(String word) {
+		ensure(word.length());
+		for (int i = 0; i < word.length(); i++) {
+			if (pos + i == limit || buf[pos + i] != word.charAt(i))
+				throw error();
+		}
+		pos += word.length();
+		state = AFTER;
+	}
+
+	private void readNumber() {
+		StringBuilder b = scratch;
+		b.setLength(0);
+		long start = base + pos;
+		if (buf[pos] == '-')
+			b.append(buf[pos++]);
+		int c = peek(0);
+		if (c == '0')
+			b.append(buf[pos++]);
+		else if (c >= '1' && c <= '9')
+			digits(b);
+		else
+			throw error(start);
+		integral = true;
+		if (peek(0) == '.' && isDigit(peek(1))) {
+			b.append(buf[pos++]);
+			digits(b);
+			integral = false;
+		}
+		c = peek(0);
+		if (c == 'e' || c == 'E') {
+			int i = 1;
+			c = peek(1);
+			if (c == '+' || c == '-')
+				i++;
+			if (isDigit(peek(i))) {
+				b.append(buf, pos, i);
+				pos += i;
+				digits(b);
+				integral = false;
+			}
+		}
+		string = b.toString();
+	}
+
+	private static boolean isDigit(int c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private void digits(StringBuilder b) {
+		while (true) {
+			if (pos == limit && !fill())
+				return;
+			char c = buf[pos];
+			if (c < '0' || c > '9')
+				return;
+			b.append(c);
+			pos++;
+		}
+	}
+
+	private String readString() {
+		int start = ++pos;
+		StringBuilder b = null, v = null;
+		while (true) {
+			if (pos == limit) {
+				if (b == null) {
+					b = scratch;
+					b.setLength(0);
+				}
+				b.append(buf, start, pos - start);
+				if (v != null)
+					v.append(buf, start, pos - start);
+				if (!fill())
+					throw error();
+				start = pos;
+				continue;
+			}
+			char c = buf[pos];
+			if (c == '"') {
+				String s;
+				if (b == null)
+					s = new String(buf, start, pos - start);
+				else {
+					b.append(buf, start, pos - start);
+					s = b.toString();
+				}
+				if (v == null)
+					verbatim = s;
+				else {
+					v.append(buf, start, pos - start);
+					verbatim = v.toString();
+				}
+				pos++;
+				return s;
+			}
+			if (c == '\\') {
+				if (b == null) {
+					b = scratch;
+					b.setLength(0);
+				}
+				if (raw && v == null) {
+					if (rawScratch == null)
+						rawScratch = new StringBuilder();
+					v = rawScratch;
+					v.setLength(0);
+					// no escapes so far, so text and value coincide
+					v.append(b);
+				}
+				b.append(buf, start, pos - start);
+				if (v != null)
+					v.append(buf, start, pos - start + 1);
+				pos++;
+				int n = peek(0) == 'u' ? 5 : 1;
+				escape(b);
+				if (v != null)
+					// the sequence is ahead of any text discarded by fill()
+					v.append(buf, pos - n, n);
+				start = pos;
+			} else if (DescentParser.forbidden(c))
+				throw error();
+			else
+				pos++;
+		}
+	}
+
+	/**
+	 * Decodes the escape sequence following a backslash.
+	 *
+	 * @param b
+	 *            receives the decoded character
+	 */
+	private void escape(StringBuilder b) {
+		int c = peek(0);
+		switch (c) {
+		case 'r':
+			b.append('\r');
+			break;
+		case 't':
+			b.append('\t');
+			break;
+		case 'b':
+			b.append('\b');
+			break;
+		case 'n':
+			b.append('\n');
+			break;
+		case 'f':
+			b.append('\f');
+			break;
+		case '\\':
+		case '"':
+		case '/':
+			b.append((char) c);
+			break;
+		case 'u':
+			ensure(5);
+			int v = 0;
+			for (int i = 1; i <= 4; i++) {
+				int d = pos + i < limit ? DescentParser.hexDigit(buf[pos + i])
+						: -1;
+				if (d < 0)
+					throw error();
+				v = (v << 4) | d;
+			}
+			b.append((char) v);
+			pos += 4;
+			break;
+		default:
+			throw error();
+		}
+		pos++;
+	}
+
+	private void skipSpace() {
+		while (true) {
+			if (pos == limit && !fill())
+				return;
+			switch (buf[pos]) {
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\u000B':
+			case '\f':
+			case '\r':
+				pos++;
+				break;
+			default:
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @param i
+	 *            distance ahead of current position
+	 * @return character at the given distance or -1 if the input ends first
+	 */
+	private int peek(int i) {
+		ensure(i + 1);
+		return pos + i < limit ? buf[pos + i] : -1;
+	}
+
+	/**
+	 * Attempts to make at least n characters available after the current
+	 * position.
+	 *
+	 * @param n
+	 */
+	private void ensure(int n) {
+		while (limit - pos < n && fill())
+			;
+	}
+
+	/**
+	 * Reads more input into the buffer, discarding characters more than
+	 * {@link #CONTEXT} positions behind the current position if space is
+	 * needed.
+	 *
+	 * @return whether any characters were read
+	 */
+	private boolean fill() {
+		if (eof)
+			return false;
+		if (limit == buf.length) {
+			int keep = Math.max(0, pos - CONTEXT);
+			System.arraycopy(buf, keep, buf, 0, limit - keep);
+			base += keep;
+			pos -= keep;
+			limit -= keep;
+		}
+		try {
+			int n = reader.read(buf, limit, buf.length - limit);
+			if (n == -1) {
+				eof = true;
+				return false;
+			}
+			limit += n;
+			return true;
+		} catch (IOException e) {
+			throw new JSONSimpleException("failed to read JSON: "
+					+ e.getMessage(), e);
+		}
+	}
+
+	private JSONSimpleException error() {
+		return error(base + pos);
+	}
+
+	private JSONSimpleException error(long offset) {
+		ensure(CONTEXT + 1);
+		return Converter.parseError("parsing failed", new String(buf, 0,
+				limit), base, offset, !eof);
+	}
+}
@@ -15,4 +15,8 @@ public class JSONSimpleException extends RuntimeException {
 		super(string);
 	}
 
+	public JSONSimpleException(String string, Throwable cause) {
+		super(string, cause);
+	}
+
 }
@@ -0,0 +1,289 @@
+package dfh.json.simple;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Incremental JSON generator. Output is buffered and passed to the underlying
+ * {@link Writer}, {@link OutputStream}, or other {@link Appendable} in chunks,
+ * so documents of any size may be written with a small, constant amount of
+ * memory. Output is compact; there is no indentation.
+ * <p>
+ * Typical use:
+ *
+ * <pre>
+ * JSONWriter w = new JSONWriter(out);
+ * w.writeStartArray();
+ * for (Record r : records) {
+ * 	w.writeStartObject();
+ * 	w.writeField(&quot;id&quot;, r.id());
+ * 	w.writeField(&quot;tags&quot;, r.tags());
+ * 	w.writeEndObject();
+ * }
+ * w.writeEndArray();
+ * w.close();
+ * </pre>
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class JSONWriter implements Closeable, Flushable {
+	private static final byte ROOT = 0, DONE = 1, EMPTY_ARRAY = 2, ARRAY = 3,
+			EMPTY_OBJECT = 4, OBJECT = 5, FIELD = 6;
+
+	private final Appendable target;
+	private final Output out;
+	private byte[] stack = new byte[32];
+	private int depth;
+
+	/**
+	 * @param target
+	 *            destination of JSON
+	 */
+	public JSONWriter(Appendable target) {
+		this.target = target;
+		this.out = new Output(target);
+	}
+
+	/**
+	 * @param out
+	 *            destination of UTF-8 encoded JSON
+	 */
+	public JSONWriter(OutputStream out) {
+		this(new OutputStreamWriter(out, JSONReader.UTF8));
+	}
+
+	/**
+	 * Begins a JSON object.
+	 */
+	public JSONWriter writeStartObject() throws JSONSimpleException {
+		beforeValue();
+		push(EMPTY_OBJECT);
+		out.append('{');
+		return this;
+	}
+
+	/**
+	 * Ends the current JSON object.
+	 */
+	public JSONWriter writeEndObject() throws JSONSimpleException {
+		byte s = stack[depth];
+		if (s != EMPTY_OBJECT && s != OBJECT)
+			throw new JSONSimpleException("not in an object expecting a field");
+		depth--;
+		out.append('}');
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * Begins a JSON array.
+	 */
+	public JSONWriter writeStartArray() throws JSONSimpleException {
+		beforeValue();
+		push(EMPTY_ARRAY);
+		out.append('[');
+		return this;
+	}
+
+	/**
+	 * Ends the current JSON array.
+	 */
+	public JSONWriter writeEndArray() throws JSONSimpleException {
+		byte s = stack[depth];
+		if (s != EMPTY_ARRAY && s != ARRAY)
+			throw new JSONSimpleException("not in an array");
+		depth--;
+		out.append(']');
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * Writes the name of the next field of the current object.
+	 *
+	 * @param name
+	 *            field name
+	 */
+	public JSONWriter writeFieldName(String name) throws JSONSimpleException {
+		byte s = stack[depth];
+		if (s == OBJECT)
+			out.append(',');
+		else if (s != EMPTY_OBJECT)
+			throw new JSONSimpleException("not in an object expecting a field");
+		stack[depth] = FIELD;
+		Converter.convert(name, out);
+		out.append(':');
+		return this;
+	}
+
+	/**
+	 * Writes a field name and its value.
+	 *
+	 * @param name
+	 *            field name
+	 * @param value
+	 *            any value {@link Converter} can convert
+	 */
+	public JSONWriter writeField(String name, Object value)
+			throws JSONSimpleException {
+		writeFieldName(name);
+		return writeValue(value);
+	}
+
+	/**
+	 * @param s
+	 *            string value; {@code null} is written as {@code null}
+	 */
+	public JSONWriter writeString(String s) throws JSONSimpleException {
+		beforeValue();
+		if (s == null)
+			out.append("null");
+		else
+			Converter.convert(s, out);
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * @param n
+	 *            integral value
+	 */
+	public JSONWriter writeNumber(long n) throws JSONSimpleException {
+		beforeValue();
+		out.append(n);
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * @param n
+	 *            finite floating point value
+	 */
+	public JSONWriter writeNumber(double n) throws JSONSimpleException {
+		if (Double.isNaN(n) || Double.isInfinite(n))
+			throw new JSONSimpleException(n + " cannot be represented in JSON");
+		beforeValue();
+		out.append(n);
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * @param n
+	 *            finite floating point value, written as
+	 *            {@link Float#toString(float)} would write it
+	 */
+	public JSONWriter writeNumber(float n) throws JSONSimpleException {
+		if (Float.isNaN(n) || Float.isInfinite(n))
+			throw new JSONSimpleException(n + " cannot be represented in JSON");
+		beforeValue();
+		out.append(n);
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * @param n
+	 *            number; {@code null} is written as {@code null}
+	 */
+	public JSONWriter writeNumber(Number n) throws JSONSimpleException {
+		return writeValue(n);
+	}
+
+	/**
+	 * @param b
+	 *            boolean value
+	 */
+	public JSONWriter writeBoolean(boolean b) throws JSONSimpleException {
+		beforeValue();
+		out.append(b ? "true" : "false");
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * Writes {@code null}.
+	 */
+	public JSONWriter writeNull() throws JSONSimpleException {
+		beforeValue();
+		out.append("null");
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * Writes any value {@link Converter} can convert: maps, collections,
+	 * arrays, strings, numbers, booleans, or {@code null}.
+	 *
+	 * @param value
+	 */
+	public JSONWriter writeValue(Object value) throws JSONSimpleException {
+		beforeValue();
+		Converter.write(value, out);
+		out.mark();
+		return this;
+	}
+
+	/**
+	 * Passes all buffered output to the destination and flushes the
+	 * destination if it is {@link Flushable}.
+	 */
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+		if (target instanceof Flushable)
+			((Flushable) target).flush();
+	}
+
+	/**
+	 * Flushes output and closes the destination if it is {@link Closeable}.
+	 *
+	 * @throws JSONSimpleException
+	 *             if the document is incomplete
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+		if (target instanceof Closeable)
+			((Closeable) target).close();
+		if (depth > 0 || stack[0] != DONE)
+			throw new JSONSimpleException("closed incomplete JSON document");
+	}
+
+	private void beforeValue() {
+		switch (stack[depth]) {
+		case ROOT:
+			stack[depth] = DONE;
+			break;
+		case EMPTY_ARRAY:
+			stack[depth] = ARRAY;
+			break;
+		case ARRAY:
+			out.append(',');
+			break;
+		case FIELD:
+			stack[depth] = OBJECT;
+			break;
+		case DONE:
+			throw new JSONSimpleException("JSON document already complete");
+		default:
+			throw new JSONSimpleException("field name expected");
+		}
+	}
+
+	private void push(byte state) {
+		if (++depth == stack.length) {
+			byte[] ar = new byte[depth * 2];
+			System.arraycopy(stack, 0, ar, 0, depth);
+			stack = ar;
+		}
+		stack[depth] = state;
+	}
+}
@@ -0,0 +1,91 @@
+package dfh.json.simple;
+
+/**
+ * Bounded cache of object keys. Keys are looked up by hashing and comparing
+ * the span of text holding them, so no string is created when a key has been
+ * seen before. The cache is a direct-mapped table: a new key displaces
+ * whatever key previously hashed to its slot. It is not thread-safe.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class KeyCache {
+	/**
+	 * longer keys are not cached
+	 */
+	static final int MAX_LENGTH = 64;
+	/**
+	 * largest size allowed, keeping the table small and its size computable
+	 */
+	static final int MAX_SIZE = 1 << 16;
+
+	private final String[] strings;
+	private final int[] hashes;
+	private final int mask;
+
+	/**
+	 * @param size
+	 *            minimum number of slots, at most {@link #MAX_SIZE}; rounded
+	 *            up to a power of two
+	 */
+	KeyCache(int size) {
+		int n = slots(size);
+		strings = new String[n];
+		hashes = new int[n];
+		mask = n - 1;
+	}
+
+	/**
+	 * @param size
+	 *            minimum number of slots
+	 * @return number of slots in a cache of the given size
+	 */
+	static int slots(int size) {
+		return Integer.highestOneBit(Math.max(size, 2) - 1) << 1;
+	}
+
+	/**
+	 * @return number of slots
+	 */
+	int capacity() {
+		return strings.length;
+	}
+
+	/**
+	 * @param p
+	 *            parser holding the text
+	 * @param start
+	 *            offset of first character of key
+	 * @param end
+	 *            offset of closing quote; the key contains no escapes
+	 * @return the key
+	 */
+	String get(DescentParser p, int start, int end) {
+		int n = end - start;
+		if (n > MAX_LENGTH)
+			return p.string(start, end);
+		int h = 0;
+		boolean encoded = p.encoded();
+		for (int i = start; i < end; i++) {
+			int c = p.at(i);
+			if (encoded && c > 0x7F)
+				return p.string(start, end);
+			h = 31 * h + c;
+		}
+		int slot = (h ^ (h >>> 16)) & mask;
+		String s = strings[slot];
+		if (s != null && hashes[slot] == h && s.length() == n) {
+			int i = 0;
+			while (i < n && s.charAt(i) == p.at(start + i))
+				i++;
+			if (i == n)
+				return s;
+		}
+		s = p.string(start, end);
+		strings[slot] = s;
+		hashes[slot] = h;
+		return s;
+	}
+}
@@ -0,0 +1,81 @@
+package dfh.json.simple;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of a JSON array which decodes its elements only as they are
+ * retrieved. Returned when parsing with {@link ParseOptions#lazy(boolean)}.
+ * Until first accessed it holds only the offset of the array in the text. On
+ * first access the offsets of the elements are recorded; elements are decoded
+ * the first time they are retrieved.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class LazyArray extends AbstractList<Object> implements RandomAccess {
+	private final DescentParser parser;
+	private final int start;
+	private int[] offsets;
+	/**
+	 * decoded values; {@link DescentParser#MISSING} if not yet decoded
+	 */
+	private Object[] values;
+
+	/**
+	 * @param parser
+	 *            parser holding the validated text
+	 * @param start
+	 *            offset of the opening bracket
+	 */
+	LazyArray(DescentParser parser, int start) {
+		this.parser = parser;
+		this.start = start;
+	}
+
+	/**
+	 * Locates the elements of the array, if this has not already been done.
+	 */
+	private void index() {
+		if (values != null)
+			return;
+		int[] offsets = new int[8];
+		int n = 0;
+		parser.pos = start;
+		if (parser.enter(']')) {
+			do {
+				if (n == offsets.length)
+					offsets = Arrays.copyOf(offsets, n * 2);
+				offsets[n++] = parser.pos;
+				parser.skipValue();
+			} while (parser.more(']'));
+		}
+		this.offsets = offsets;
+		Object[] values = new Object[n];
+		Arrays.fill(values, DescentParser.MISSING);
+		this.values = values;
+	}
+
+	@Override
+	public Object get(int index) {
+		index();
+		if (index < 0 || index >= values.length)
+			throw new IndexOutOfBoundsException("index " + index
+					+ " in list of size " + values.length);
+		Object o = values[index];
+		if (o == DescentParser.MISSING) {
+			o = parser.lazyValue(offsets[index]);
+			values[index] = o;
+		}
+		return o;
+	}
+
+	@Override
+	public int size() {
+		index();
+		return values.length;
+	}
+}
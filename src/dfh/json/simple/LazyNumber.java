@@ -0,0 +1,128 @@
+package dfh.json.simple;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * JSON number whose text is parsed only when its value is first requested.
+ * Produced when parsing with {@link ParseOptions.NumberMode#LAZY}. Until
+ * then, it holds a reference to the text parsed, so retaining lazy numbers
+ * retains the document they came from.
+ * <p>
+ * The exact value is available via {@link #toString()}, which returns the
+ * number's original text, and when serialized a lazy number is written out
+ * exactly as it was read.
+ * <p>
+ * Lazy numbers may be shared freely between threads.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public final class LazyNumber extends Number {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * released once {@link #text} is set
+	 */
+	private transient volatile CharSequence source;
+	private final int start, end;
+	private final boolean integral;
+	private transient volatile String text;
+	private transient volatile Number value;
+
+	LazyNumber(CharSequence source, int start, int end, boolean integral) {
+		this.source = source;
+		this.start = start;
+		this.end = end;
+		this.integral = integral;
+	}
+
+	/**
+	 * @return whether the number has neither a fraction nor an exponent
+	 */
+	public boolean isIntegral() {
+		return integral;
+	}
+
+	/**
+	 * @return the value as a {@link Long}, {@link BigInteger}, or
+	 *         {@link BigDecimal}, parsing it if necessary
+	 */
+	public Number value() {
+		Number v = value;
+		if (v == null) {
+			String s = toString();
+			if (!integral)
+				v = new BigDecimal(s);
+			else if (end - start < 19)
+				v = Long.valueOf(s);
+			else
+				v = new BigInteger(s);
+			value = v;
+		}
+		return v;
+	}
+
+	@Override
+	public int intValue() {
+		return value().intValue();
+	}
+
+	@Override
+	public long longValue() {
+		return value().longValue();
+	}
+
+	@Override
+	public float floatValue() {
+		if (integral)
+			return value().floatValue();
+		return Float.parseFloat(toString());
+	}
+
+	@Override
+	public double doubleValue() {
+		if (integral)
+			return value().doubleValue();
+		return Double.parseDouble(toString());
+	}
+
+	/**
+	 * @return the number's text as it appeared in the JSON
+	 */
+	@Override
+	public String toString() {
+		String t = text;
+		if (t == null) {
+			CharSequence s = source;
+			// another thread set the text before releasing the source
+			if (s == null)
+				return text;
+			t = s.subSequence(start, end).toString();
+			text = t;
+			source = null;
+		}
+		return t;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof LazyNumber && toString().equals(o.toString());
+	}
+
+	@Override
+	public int hashCode() {
+		return toString().hashCode();
+	}
+
+	/**
+	 * Lazy numbers are serialized as their exact values.
+	 *
+	 * @return value
+	 */
+	private Object writeReplace() {
+		return value();
+	}
+}
@@ -0,0 +1,153 @@
+package dfh.json.simple;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view of a JSON object which decodes its members only as they are
+ * retrieved. Returned when parsing with {@link ParseOptions#lazy(boolean)}.
+ * Until first accessed it holds only the offset of the object in the text. On
+ * first access the members' keys are decoded and the offsets of their values
+ * recorded; values are decoded the first time they are retrieved. As with
+ * eagerly parsed objects, iteration follows the order of the keys in the text
+ * and where a key occurs more than once the last value is used.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class LazyObject extends AbstractMap<String, Object> {
+	private final DescentParser parser;
+	private final int start;
+	/**
+	 * maps keys to indices in {@link #offsets} and {@link #values}
+	 */
+	private Map<String, Integer> slots;
+	private int[] offsets;
+	/**
+	 * decoded values; {@link DescentParser#MISSING} if not yet decoded
+	 */
+	private Object[] values;
+	private Set<Entry<String, Object>> entries;
+
+	/**
+	 * @param parser
+	 *            parser holding the validated text
+	 * @param start
+	 *            offset of the opening brace
+	 */
+	LazyObject(DescentParser parser, int start) {
+		this.parser = parser;
+		this.start = start;
+	}
+
+	/**
+	 * Locates the members of the object, if this has not already been done.
+	 */
+	private void index() {
+		if (slots != null)
+			return;
+		Map<String, Integer> slots = new LinkedHashMap<String, Integer>();
+		int[] offsets = new int[8];
+		int n = 0;
+		parser.pos = start;
+		if (parser.enter('}')) {
+			do {
+				String key = parser.key();
+				if (n == offsets.length)
+					offsets = Arrays.copyOf(offsets, n * 2);
+				offsets[n] = parser.pos;
+				slots.put(key, n++);
+				parser.skipValue();
+			} while (parser.more('}'));
+		}
+		this.offsets = offsets;
+		values = new Object[n];
+		Arrays.fill(values, DescentParser.MISSING);
+		this.slots = slots;
+	}
+
+	/**
+	 * @param slot
+	 *            index of a member
+	 * @return the member's value, decoding it if necessary
+	 */
+	private Object value(int slot) {
+		Object o = values[slot];
+		if (o == DescentParser.MISSING) {
+			o = parser.lazyValue(offsets[slot]);
+			values[slot] = o;
+		}
+		return o;
+	}
+
+	@Override
+	public Object get(Object key) {
+		index();
+		Integer slot = slots.get(key);
+		return slot == null ? null : value(slot);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		index();
+		return slots.containsKey(key);
+	}
+
+	@Override
+	public Set<String> keySet() {
+		index();
+		return Collections.unmodifiableSet(slots.keySet());
+	}
+
+	@Override
+	public int size() {
+		index();
+		return slots.size();
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		if (entries == null) {
+			entries = new AbstractSet<Entry<String, Object>>() {
+				@Override
+				public Iterator<Entry<String, Object>> iterator() {
+					index();
+					final Iterator<Entry<String, Integer>> i = slots
+							.entrySet().iterator();
+					return new Iterator<Entry<String, Object>>() {
+						@Override
+						public boolean hasNext() {
+							return i.hasNext();
+						}
+
+						@Override
+						public Entry<String, Object> next() {
+							Entry<String, Integer> e = i.next();
+							return new SimpleImmutableEntry<String, Object>(
+									e.getKey(), value(e.getValue()));
+						}
+
+						@Override
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return LazyObject.this.size();
+				}
+			};
+		}
+		return entries;
+	}
+}
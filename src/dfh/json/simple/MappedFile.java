@@ -0,0 +1,191 @@
+package dfh.json.simple;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Access to files through memory mapping, so their contents are read from the
+ * operating system's page cache rather than copied onto the heap. A file
+ * small enough to be addressed by a single buffer, under 2 GB, is mapped
+ * whole; a larger one is read as a stream through a succession of mapped
+ * windows.
+ * <p>
+ * A mapping is released only when its buffer is garbage collected, not when
+ * it is read or the file closed. Windows must therefore be large: reading a
+ * file through many small ones can leave enough mappings outstanding to
+ * exhaust the process's limit on them, at which point the JVM fails to
+ * allocate native memory.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class MappedFile {
+	/**
+	 * size of the windows through which large files are read
+	 */
+	static final long WINDOW = 1L << 28;
+
+	private MappedFile() {
+	}
+
+	/**
+	 * @param path
+	 * @return the whole file mapped read-only, or null if the file is too
+	 *         large for one buffer
+	 * @throws JSONSimpleException
+	 *             if the file cannot be read
+	 */
+	static ByteBuffer map(Path path) throws JSONSimpleException {
+		try {
+			FileChannel channel = FileChannel.open(path,
+					StandardOpenOption.READ);
+			try {
+				long size = channel.size();
+				if (size > Integer.MAX_VALUE)
+					return null;
+				// the mapping outlives the channel
+				return channel.map(MapMode.READ_ONLY, 0, size);
+			} finally {
+				channel.close();
+			}
+		} catch (IOException e) {
+			throw failure(path, e);
+		}
+	}
+
+	/**
+	 * @param path
+	 * @return a stream reading the file through mapped windows of
+	 *         {@link #WINDOW} bytes; the caller must close it
+	 * @throws JSONSimpleException
+	 *             if the file cannot be opened
+	 */
+	static InputStream stream(Path path) throws JSONSimpleException {
+		return stream(path, WINDOW);
+	}
+
+	/**
+	 * @param path
+	 * @param window
+	 *            size of the windows; small windows are for testing only, as
+	 *            each remains mapped until it is garbage collected
+	 * @return a stream reading the file through mapped windows; the caller
+	 *         must close it
+	 * @throws JSONSimpleException
+	 *             if the file cannot be opened
+	 */
+	static InputStream stream(Path path, long window)
+			throws JSONSimpleException {
+		try {
+			return new Windows(path, FileChannel.open(path,
+					StandardOpenOption.READ), window);
+		} catch (IOException e) {
+			throw failure(path, e);
+		}
+	}
+
+	/**
+	 * Closes a stream obtained from {@link #stream(Path)}.
+	 *
+	 * @param in
+	 * @throws JSONSimpleException
+	 *             if the stream cannot be closed
+	 */
+	static void close(InputStream in) throws JSONSimpleException {
+		try {
+			in.close();
+		} catch (IOException e) {
+			throw new JSONSimpleException("failed to close file: "
+					+ e.getMessage(), e);
+		}
+	}
+
+	private static JSONSimpleException failure(Path path, IOException e) {
+		return new JSONSimpleException("failed to read " + path + ": "
+				+ e.getMessage(), e);
+	}
+
+	/**
+	 * Stream over a file mapping one window at a time. Each window is released
+	 * to the garbage collector once read, so only one is reachable at once,
+	 * though others may remain mapped until collected. A multi-byte character
+	 * may straddle two windows; the decoder reading the stream reassembles it.
+	 */
+	private static final class Windows extends InputStream {
+		private final Path path;
+		private final FileChannel channel;
+		private final long size, window;
+		/**
+		 * offset in the file of the end of the current window
+		 */
+		private long position;
+		private MappedByteBuffer buf;
+
+		Windows(Path path, FileChannel channel, long window)
+				throws IOException {
+			this.path = path;
+			this.channel = channel;
+			this.size = channel.size();
+			this.window = window;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!advance())
+				return -1;
+			return buf.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0)
+				return 0;
+			if (!advance())
+				return -1;
+			int n = Math.min(len, buf.remaining());
+			buf.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return buf == null ? 0 : buf.remaining();
+		}
+
+		@Override
+		public void close() throws IOException {
+			buf = null;
+			channel.close();
+		}
+
+		/**
+		 * Maps the next window if the current one is exhausted.
+		 *
+		 * @return whether any bytes remain
+		 */
+		private boolean advance() throws IOException {
+			if (buf != null && buf.hasRemaining())
+				return true;
+			buf = null;
+			if (position == size)
+				return false;
+			long n = Math.min(window, size - position);
+			try {
+				buf = channel.map(MapMode.READ_ONLY, position, n);
+			} catch (IOException e) {
+				throw new IOException("failed to map " + path + " at "
+						+ position, e);
+			}
+			position += n;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,247 @@
+package dfh.json.simple;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Buffer receiving serialized JSON. When constructed with a target, the
+ * buffer is handed off to the target in chunks of roughly {@link #CHUNK}
+ * characters so the whole document is never held in memory.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class Output {
+	/**
+	 * buffer size at which the buffer is flushed to the target
+	 */
+	static final int CHUNK = 8192;
+	/**
+	 * powers of ten tried as scales by {@link #plain(double)}
+	 */
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5,
+			1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17 };
+	/**
+	 * bound on the digits written by {@link #plain(double)}; 15 significant
+	 * digits always survive a round trip through a double
+	 */
+	private static final double MAX_DIGITS = 1e15;
+
+	final StringBuilder b;
+	private final Appendable target;
+	private char[] chars;
+	/**
+	 * formatting settings
+	 */
+	SerializeOptions options = SerializeOptions.DEFAULT;
+	/**
+	 * layout decisions already made for single member containers
+	 */
+	private Map<Object, Boolean> trivia;
+
+	/**
+	 * Creates a buffer with no target; retrieve the result with
+	 * {@link #toString()}.
+	 */
+	Output() {
+		this.b = new StringBuilder();
+		this.target = null;
+	}
+
+	/**
+	 * @param target
+	 *            destination of output
+	 */
+	Output(Appendable target) {
+		this(target, null);
+	}
+
+	/**
+	 * @param target
+	 *            destination of output
+	 * @param buffer
+	 *            empty buffer to use for chunks of output; if null, one is
+	 *            created
+	 */
+	Output(Appendable target, StringBuilder buffer) {
+		if (target instanceof StringBuilder) {
+			this.b = (StringBuilder) target;
+			this.target = null;
+		} else {
+			this.b = buffer == null ? new StringBuilder(CHUNK + CHUNK / 4)
+					: buffer;
+			this.target = target;
+		}
+	}
+
+	Output append(char c) {
+		b.append(c);
+		return this;
+	}
+
+	Output append(String s) {
+		b.append(s);
+		return this;
+	}
+
+	Output append(CharSequence s, int start, int end) {
+		b.append(s, start, end);
+		return this;
+	}
+
+	Output append(long l) {
+		b.append(l);
+		return this;
+	}
+
+	Output append(int i) {
+		b.append(i);
+		return this;
+	}
+
+	/**
+	 * Writes a double as {@link Double#toString(double)} would, but without
+	 * creating a string where possible.
+	 *
+	 * @param d
+	 * @return this
+	 */
+	Output append(double d) {
+		if (!plain(d))
+			b.append(d);
+		return this;
+	}
+
+	/**
+	 * Writes doubles which {@link Double#toString(double)} renders without an
+	 * exponent, that is, those of magnitude in [10<sup>-3</sup>,
+	 * 10<sup>7</sup>), using the fewest digits which read back as the same
+	 * double. For each scale s in turn, the double is multiplied by
+	 * 10<sup>s</sup> and rounded to an integer m; m and 10<sup>s</sup> being
+	 * exactly representable, m / 10<sup>s</sup> is the correctly rounded value
+	 * of the decimal, so if it equals the double the decimal is its shortest
+	 * representation. Values needing more than 15 digits are left to the JDK.
+	 *
+	 * @param d
+	 * @return whether the double was written
+	 */
+	private boolean plain(double d) {
+		double a = Math.abs(d);
+		if (!(a >= 1e-3 && a < 1e7))
+			return false;
+		for (int s = 0; s < POW10.length; s++) {
+			double scaled = a * POW10[s];
+			if (scaled >= MAX_DIGITS)
+				return false;
+			long m = Math.round(scaled);
+			if (m / POW10[s] == a) {
+				if (d < 0)
+					b.append('-');
+				decimal(m, s);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes m &times; 10<sup>-s</sup> with at least one digit after the
+	 * decimal point.
+	 *
+	 * @param m
+	 *            positive integer
+	 * @param s
+	 *            number of digits after the decimal point
+	 */
+	private void decimal(long m, int s) {
+		while (s > 0 && m % 10 == 0) {
+			m /= 10;
+			s--;
+		}
+		if (s == 0) {
+			b.append(m).append(".0");
+			return;
+		}
+		long scale = (long) POW10[s], fraction = m % scale;
+		b.append(m / scale).append('.');
+		for (long p = scale / 10; p > fraction; p /= 10)
+			b.append('0');
+		b.append(fraction);
+	}
+
+	Output append(float f) {
+		b.append(f);
+		return this;
+	}
+
+	/**
+	 * @return number of characters buffered
+	 */
+	int length() {
+		return b.length();
+	}
+
+	/**
+	 * @param container
+	 *            container of a single value
+	 * @return whether the container was found to need its own lines, or null
+	 *         if this has not been determined
+	 */
+	Boolean nontrivial(Object container) {
+		return trivia == null ? null : trivia.get(container);
+	}
+
+	/**
+	 * Remembers whether a container of a single value needs its own lines.
+	 *
+	 * @param container
+	 * @param nontrivial
+	 * @return nontrivial
+	 */
+	boolean nontrivial(Object container, boolean nontrivial) {
+		if (trivia == null)
+			trivia = new IdentityHashMap<Object, Boolean>();
+		trivia.put(container, nontrivial);
+		return nontrivial;
+	}
+
+	/**
+	 * Called at value boundaries; passes the buffered text to the target if
+	 * enough has accumulated.
+	 */
+	void mark() {
+		if (target != null && b.length() >= CHUNK)
+			flush();
+	}
+
+	/**
+	 * Passes all buffered text to the target.
+	 */
+	void flush() {
+		if (target == null || b.length() == 0)
+			return;
+		try {
+			if (target instanceof Writer) {
+				int n = b.length();
+				if (chars == null || chars.length < n)
+					chars = new char[Math.max(n, CHUNK)];
+				b.getChars(0, n, chars, 0);
+				((Writer) target).write(chars, 0, n);
+			} else
+				target.append(b);
+		} catch (IOException e) {
+			throw new JSONSimpleException("failed to write JSON: "
+					+ e.getMessage(), e);
+		}
+		b.setLength(0);
+	}
+
+	@Override
+	public String toString() {
+		return b.toString();
+	}
+}
@@ -0,0 +1,180 @@
+package dfh.json.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parses a document that is a long array on several threads. A scan tracking
+ * only nesting and strings finds commas separating members of the root array
+ * at roughly even intervals; the runs of members between them are parsed by
+ * {@link DescentParser#fork() forks} of the parser on a shared
+ * {@link ForkJoinPool}, and the lists produced are concatenated in order.
+ * <p>
+ * The scan does not validate. If any chunk fails to parse, the caller parses
+ * the document sequentially, so errors are reported exactly as they would be
+ * otherwise.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class ParallelArray {
+	/**
+	 * smallest span of text worth a task of its own
+	 */
+	static final int MIN_CHUNK = 1 << 16;
+	/**
+	 * chunks per thread, so threads given easier chunks can take up the slack
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	/**
+	 * system property giving the parallelism of the shared pool, which is
+	 * otherwise the number of processors
+	 */
+	static final String PARALLELISM = "dfh.json.simple.parallelism";
+
+	/**
+	 * Holds the pool, which is created only when first needed.
+	 */
+	private static class Pool {
+		static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1,
+				Integer.getInteger(PARALLELISM, Runtime.getRuntime()
+						.availableProcessors())));
+	}
+
+	private ParallelArray() {
+	}
+
+	/**
+	 * @return the pool shared by parallel parsing and serialization
+	 */
+	static ForkJoinPool pool() {
+		return Pool.POOL;
+	}
+
+	/**
+	 * @param p
+	 *            parser positioned at the opening bracket of the root array
+	 * @return the array, with the parser positioned after its closing bracket,
+	 *         or null, with the parser where it was, if the array should be
+	 *         parsed sequentially, because there is only one processor, the
+	 *         array is too short to split, or it contains an error
+	 * @throws JSONSimpleException
+	 *             if the thread is interrupted
+	 */
+	static List<Object> parse(final DescentParser p)
+			throws JSONSimpleException {
+		ForkJoinPool pool = pool();
+		if (pool.getParallelism() < 2)
+			return null;
+		int start = p.pos;
+		int size = Math.max(MIN_CHUNK, p.length
+				/ (CHUNKS_PER_THREAD * pool.getParallelism()));
+		int[] bounds = split(p, start, size);
+		if (bounds == null)
+			return null;
+		List<Callable<List<Object>>> tasks = new ArrayList<Callable<List<Object>>>(
+				bounds.length);
+		for (int i = 0; i < bounds.length; i++) {
+			final int from = i == 0 ? start + 1 : bounds[i - 1] + 1, to = bounds[i];
+			tasks.add(new Callable<List<Object>>() {
+				@Override
+				public List<Object> call() {
+					DescentParser f = p.fork();
+					f.options = p.options;
+					f.pos = from;
+					List<Object> list = new ArrayList<Object>();
+					f.members(list, to);
+					return list;
+				}
+			});
+		}
+		List<List<Object>> chunks = new ArrayList<List<Object>>(bounds.length);
+		int n = 0;
+		try {
+			for (Future<List<Object>> f : pool.invokeAll(tasks)) {
+				List<Object> chunk = f.get();
+				n += chunk.size();
+				chunks.add(chunk);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JSONSimpleException("interrupted while parsing", e);
+		} catch (ExecutionException e) {
+			Throwable t = e.getCause();
+			if (t instanceof JSONSimpleException)
+				return null;
+			if (t instanceof Error)
+				throw (Error) t;
+			throw (RuntimeException) t;
+		}
+		List<Object> list = new ArrayList<Object>(n);
+		for (List<Object> chunk : chunks)
+			list.addAll(chunk);
+		p.pos = bounds[bounds.length - 1] + 1;
+		return list;
+	}
+
+	/**
+	 * Finds the commas at which to split the root array and its closing
+	 * bracket.
+	 *
+	 * @param p
+	 * @param start
+	 *            offset of the opening bracket
+	 * @param size
+	 *            approximate length of chunks
+	 * @return offsets of the separating commas followed by that of the closing
+	 *         bracket, or null if there are no separating commas or the array
+	 *         is not closed by a bracket
+	 */
+	private static int[] split(DescentParser p, int start, int size) {
+		int[] bounds = new int[16];
+		int n = 0, depth = 0, next = start + size;
+		boolean string = false;
+		for (int i = start; i < p.length; i++) {
+			int c = p.at(i);
+			if (string) {
+				if (c == '\\')
+					i++;
+				else if (c == '"')
+					string = false;
+				continue;
+			}
+			switch (c) {
+			case '"':
+				string = true;
+				break;
+			case '[':
+			case '{':
+				depth++;
+				break;
+			case ']':
+			case '}':
+				if (--depth > 0)
+					break;
+				// a mismatched bracket is left to the sequential parser to report
+				if (n == 0 || c != ']')
+					return null;
+				bounds = Arrays.copyOf(bounds, n + 1);
+				bounds[n] = i;
+				return bounds;
+			case ',':
+				if (depth == 1 && i >= next) {
+					if (n == bounds.length)
+						bounds = Arrays.copyOf(bounds, n * 2);
+					bounds[n++] = i;
+					next = i + size;
+				}
+			}
+		}
+		return null;
+	}
+}
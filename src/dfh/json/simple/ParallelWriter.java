@@ -0,0 +1,110 @@
+package dfh.json.simple;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Serializes a long list that is the root of a document on several threads.
+ * Runs of members are written into buffers of their own on the pool shared
+ * with {@link ParallelArray}, each exactly as
+ * {@link Converter#member(Object, boolean, Output, int, int, boolean)} would
+ * write it in sequence, and the buffers are copied to the output in order. At
+ * most two runs per thread are in progress at once, so when the output goes
+ * to a stream the memory used is bounded whatever the length of the list.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class ParallelWriter {
+	/**
+	 * most members in one run
+	 */
+	static final int MAX_RUN = 4096;
+	/**
+	 * runs per thread, so threads given easier runs can take up the slack
+	 */
+	private static final int RUNS_PER_THREAD = 4;
+
+	private ParallelWriter() {
+	}
+
+	/**
+	 * @param list
+	 *            root list, of at least two members
+	 * @param b
+	 *            output
+	 * @param indent
+	 *            amount nested values are to be indented relative to their
+	 *            context; if this is less than 0, there will be no indentation
+	 * @return whether the list was written; if not, there is only one
+	 *         processor and nothing has been written
+	 * @throws JSONSimpleException
+	 *             if a member cannot be converted or the thread is
+	 *             interrupted
+	 */
+	static boolean write(List<?> list, Output b, final int indent)
+			throws JSONSimpleException {
+		ForkJoinPool pool = ParallelArray.pool();
+		int threads = pool.getParallelism();
+		if (threads < 2)
+			return false;
+		final List<?> members = list instanceof RandomAccess ? list
+				: new ArrayList<Object>(list);
+		final SerializeOptions options = b.options;
+		// a list of two or more members is laid out on lines of its own
+		final boolean selfNontrivial = indent > -1;
+		int n = members.size();
+		int run = Math.max(1,
+				Math.min(MAX_RUN, n / (RUNS_PER_THREAD * threads)));
+		Deque<Future<Output>> pending = new ArrayDeque<Future<Output>>();
+		b.append('[');
+		try {
+			for (int next = 0; next < n || !pending.isEmpty();) {
+				while (next < n && pending.size() < 2 * threads) {
+					final int from = next, to = Math.min(n, next + run);
+					pending.add(pool.submit(new Callable<Output>() {
+						@Override
+						public Output call() {
+							Output o = new Output(new StringBuilder());
+							o.options = options;
+							for (int i = from; i < to; i++)
+								Converter.member(members.get(i), i > 0, o,
+										indent, 0, selfNontrivial);
+							return o;
+						}
+					}));
+					next = to;
+				}
+				Output o = pending.removeFirst().get();
+				b.append(o.b, 0, o.b.length());
+				b.mark();
+			}
+		} catch (InterruptedException e) {
+			cancel(pending);
+			Thread.currentThread().interrupt();
+			throw new JSONSimpleException("interrupted while serializing", e);
+		} catch (ExecutionException e) {
+			cancel(pending);
+			Throwable t = e.getCause();
+			if (t instanceof Error)
+				throw (Error) t;
+			throw (RuntimeException) t;
+		}
+		Converter.close(b, indent, 0, selfNontrivial);
+		return true;
+	}
+
+	private static void cancel(Deque<Future<Output>> pending) {
+		for (Future<Output> f : pending)
+			f.cancel(true);
+	}
+}
@@ -0,0 +1,199 @@
+package dfh.json.simple;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import dfh.json.simple.Converter.Engine;
+
+/**
+ * Settings controlling how JSON is parsed. Setters return the options object,
+ * so settings may be chained:
+ *
+ * <pre>
+ * Object o = Converter.convert(json, new ParseOptions().numbers(NumberMode.FAST));
+ * </pre>
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class ParseOptions {
+	/**
+	 * Java representations of JSON numbers.
+	 */
+	public enum NumberMode {
+		/**
+		 * {@link BigInteger} for integers, {@link BigDecimal} for all other
+		 * numbers; the default
+		 */
+		EXACT,
+		/**
+		 * {@link Long} for integers in its range, {@link BigInteger} for
+		 * larger integers, {@link Double} for all other numbers
+		 */
+		FAST,
+		/**
+		 * {@link LazyNumber}, which keeps the number's text and parses it on
+		 * first use
+		 */
+		LAZY
+	}
+
+	/**
+	 * options used when none are specified
+	 */
+	static final ParseOptions DEFAULT = new ParseOptions();
+
+	private Engine engine = Engine.DESCENT;
+	private NumberMode numbers = NumberMode.EXACT;
+	private boolean lazy;
+	private int keyCache;
+	private int parallel;
+
+	/**
+	 * Creates the default options.
+	 */
+	public ParseOptions() {
+	}
+
+	/**
+	 * @param options
+	 *            options to copy
+	 */
+	ParseOptions(ParseOptions options) {
+		engine = options.engine;
+		numbers = options.numbers;
+		lazy = options.lazy;
+		keyCache = options.keyCache;
+		parallel = options.parallel;
+	}
+
+	/**
+	 * @param engine
+	 *            parsing engine
+	 * @return this
+	 */
+	public ParseOptions engine(Engine engine) {
+		this.engine = engine;
+		return this;
+	}
+
+	/**
+	 * @return parsing engine
+	 */
+	public Engine engine() {
+		return engine;
+	}
+
+	/**
+	 * @param numbers
+	 *            representation of numbers
+	 * @return this
+	 */
+	public ParseOptions numbers(NumberMode numbers) {
+		this.numbers = numbers;
+		return this;
+	}
+
+	/**
+	 * @return representation of numbers
+	 */
+	public NumberMode numbers() {
+		return numbers;
+	}
+
+	/**
+	 * Sets whether objects and arrays are decoded only when accessed. The
+	 * document is still validated in its entirety when parsed, but parsing
+	 * then returns a read-only map or list holding no more than the offset of
+	 * the value in the text. The members of a lazy object or array are located
+	 * when it is first accessed, and each member is decoded when it is first
+	 * retrieved, nested objects and arrays again being lazy. The cost of
+	 * reading a few fields from a large document is thus proportional to what
+	 * is read rather than to the size of the document.
+	 * <p>
+	 * Lazy values retain the text of the document, and they are not safe for
+	 * concurrent use, as they share a single parser. Lazy parsing always uses
+	 * {@link Engine#DESCENT}.
+	 *
+	 * @param lazy
+	 *            whether to decode objects and arrays on demand
+	 * @return this
+	 */
+	public ParseOptions lazy(boolean lazy) {
+		this.lazy = lazy;
+		return this;
+	}
+
+	/**
+	 * @return whether objects and arrays are decoded only when accessed
+	 */
+	public boolean lazy() {
+		return lazy;
+	}
+
+	/**
+	 * Sets the size of the cache of object keys. Documents frequently repeat
+	 * a small set of keys, as in an array of records of the same type. With a
+	 * cache, a key free of escapes and seen before is recognized from its text
+	 * and the string created when it was first seen is reused, saving both
+	 * allocation and, where the parsed values are retained, memory. A
+	 * {@link Parser} keeps its cache from one document to the next. The grammar
+	 * engine does not use the cache.
+	 *
+	 * @param size
+	 *            number of keys the cache can hold, at most 65536; 0, the
+	 *            default, for no cache
+	 * @return this
+	 */
+	public ParseOptions keyCache(int size) {
+		if (size < 0)
+			throw new JSONSimpleException("key cache size must be non-negative");
+		if (size > KeyCache.MAX_SIZE)
+			throw new JSONSimpleException("key cache size must be at most "
+					+ KeyCache.MAX_SIZE);
+		this.keyCache = size;
+		return this;
+	}
+
+	/**
+	 * @return number of keys the key cache can hold; 0 if there is none
+	 */
+	public int keyCache() {
+		return keyCache;
+	}
+
+	/**
+	 * Sets the length from which a document that is an array is parsed on
+	 * several threads. A quick scan splits the array between members into
+	 * chunks, which are parsed on a shared {@link java.util.concurrent.ForkJoinPool}
+	 * and reassembled in order. The result is the same as that of sequential
+	 * parsing, errors included. Only the descent engine parses in parallel,
+	 * and not when parsing lazily. The pool has as many threads as there are
+	 * processors unless the system property
+	 * {@code dfh.json.simple.parallelism} says otherwise; with only one,
+	 * nothing is done in parallel.
+	 *
+	 * @param threshold
+	 *            length in characters, or bytes for UTF-8 input, from which to
+	 *            parse in parallel; 0, the default, to always parse
+	 *            sequentially
+	 * @return this
+	 */
+	public ParseOptions parallel(int threshold) {
+		if (threshold < 0)
+			throw new JSONSimpleException(
+					"parallel parsing threshold must be non-negative");
+		this.parallel = threshold;
+		return this;
+	}
+
+	/**
+	 * @return length from which arrays are parsed in parallel; 0 if they never
+	 *         are
+	 */
+	public int parallel() {
+		return parallel;
+	}
+}
@@ -0,0 +1,359 @@
+package dfh.json.simple;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Reusable, thread-safe JSON parser. A parser's settings are fixed when it is
+ * constructed, so a single instance may be shared by any number of threads.
+ * Each thread keeps the buffers used for decoding strings and reading
+ * character streams and reuses them from call to call, so parsing many
+ * documents in succession involves little allocation beyond that of the values
+ * produced.
+ *
+ * <pre>
+ * private static final Parser PARSER = new Parser(
+ * 		new ParseOptions().numbers(NumberMode.FAST));
+ * ...
+ * Map&lt;?, ?&gt; request = (Map&lt;?, ?&gt;) PARSER.parse(body);
+ * </pre>
+ * <p>
+ * Lazy values, being decoded after parsing returns, do not share the
+ * per-thread buffers.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public final class Parser {
+	/**
+	 * buffers larger than this are discarded rather than kept for reuse
+	 */
+	private static final int MAX_RETAINED = 1 << 16;
+
+	/**
+	 * Buffers kept by each thread.
+	 */
+	private static final class Buffers {
+		final StringBuilder strings = new StringBuilder();
+		char[] chars;
+		KeyCache keys;
+
+		/**
+		 * @param size
+		 *            number of keys required
+		 * @return a key cache of the given size, reused if possible; null if
+		 *         the size is 0
+		 */
+		KeyCache keys(int size) {
+			if (size == 0)
+				return null;
+			if (keys == null || keys.capacity() != KeyCache.slots(size))
+				keys = new KeyCache(size);
+			return keys;
+		}
+	}
+
+	/**
+	 * per-thread buffers; null while in use, so reentrant calls get their own
+	 */
+	private static final ThreadLocal<Buffers> BUFFERS = new ThreadLocal<Buffers>();
+
+	private final ParseOptions options;
+
+	/**
+	 * Creates a parser with the default options.
+	 */
+	public Parser() {
+		this(ParseOptions.DEFAULT);
+	}
+
+	/**
+	 * @param options
+	 *            settings; these are copied, so later changes to the options
+	 *            do not affect the parser
+	 */
+	public Parser(ParseOptions options) {
+		this.options = new ParseOptions(options);
+	}
+
+	/**
+	 * @param json
+	 *            JSON document
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 * @see Converter#convert(String, ParseOptions)
+	 */
+	public Object parse(String json) throws JSONSimpleException {
+		if (options.engine() == Converter.Engine.GRAMMAR && !options.lazy())
+			return Converter.convert(json, options);
+		return parse(new StringParser(json));
+	}
+
+	/**
+	 * @param json
+	 *            UTF-8 encoded JSON
+	 * @param offset
+	 *            offset of the first byte of JSON
+	 * @param length
+	 *            number of bytes of JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 * @see Converter#convertUTF8(byte[], int, int, ParseOptions)
+	 */
+	public Object parseUTF8(byte[] json, int offset, int length)
+			throws JSONSimpleException {
+		return parse(new Utf8Parser(json, offset, length));
+	}
+
+	/**
+	 * @param json
+	 *            UTF-8 encoded JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 * @see Converter#convertUTF8(byte[], int, int, ParseOptions)
+	 */
+	public Object parseUTF8(byte[] json) throws JSONSimpleException {
+		return parseUTF8(json, 0, json.length);
+	}
+
+	/**
+	 * @param json
+	 *            UTF-8 encoded JSON between the buffer's position and limit;
+	 *            the position is not changed
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 * @see Converter#convert(ByteBuffer, ParseOptions)
+	 */
+	public Object parse(ByteBuffer json) throws JSONSimpleException {
+		return parse(new Utf8Parser(json));
+	}
+
+	/**
+	 * @param path
+	 *            file of UTF-8 encoded JSON; if it is 2 GB or larger it is
+	 *            parsed incrementally and the lazy setting is ignored
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 * @see Converter#convert(Path, ParseOptions)
+	 */
+	public Object parse(Path path) throws JSONSimpleException {
+		ByteBuffer buffer = MappedFile.map(path);
+		if (buffer != null)
+			return parse(buffer);
+		InputStream in = MappedFile.stream(path);
+		try {
+			return parse(in);
+		} finally {
+			MappedFile.close(in);
+		}
+	}
+
+	/**
+	 * Parses a document incrementally from a {@link Reader}. The engine and
+	 * lazy settings are ignored. The reader is not closed.
+	 *
+	 * @param reader
+	 *            source of JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 * @see Converter#convert(Reader)
+	 */
+	public Object parse(Reader reader) throws JSONSimpleException {
+		Buffers buffers = take();
+		try {
+			if (buffers.chars == null)
+				buffers.chars = new char[JSONReader.DEFAULT_BUFFER_SIZE];
+			JSONReader r = new JSONReader(reader, buffers.chars,
+					buffers.strings);
+			r.options = options;
+			r.next();
+			Object o = r.value();
+			r.next();
+			return o;
+		} finally {
+			give(buffers);
+		}
+	}
+
+	/**
+	 * Parses a UTF-8 encoded document incrementally from an
+	 * {@link InputStream}. The engine and lazy settings are ignored. The stream
+	 * is not closed.
+	 *
+	 * @param in
+	 *            source of JSON
+	 * @return Java collection, either a map or a list
+	 * @throws JSONSimpleException
+	 * @see Converter#convert(InputStream)
+	 */
+	public Object parse(InputStream in) throws JSONSimpleException {
+		return parse(new InputStreamReader(in, JSONReader.UTF8));
+	}
+
+	/**
+	 * Parses a document, reporting its events to a handler rather than
+	 * converting it. The engine, lazy, and parallel settings are ignored.
+	 *
+	 * @param json
+	 *            JSON document
+	 * @param handler
+	 *            receives the events
+	 * @throws JSONSimpleException
+	 * @see Converter#parse(String, JSONHandler)
+	 */
+	public void parse(String json, JSONHandler handler)
+			throws JSONSimpleException {
+		parse(new StringParser(json), handler);
+	}
+
+	/**
+	 * Parses a document, reporting its events to a handler rather than
+	 * converting it. The engine, lazy, and parallel settings are ignored.
+	 *
+	 * @param json
+	 *            UTF-8 encoded JSON between the buffer's position and limit;
+	 *            the position is not changed
+	 * @param handler
+	 *            receives the events
+	 * @throws JSONSimpleException
+	 */
+	public void parse(ByteBuffer json, JSONHandler handler)
+			throws JSONSimpleException {
+		parse(new Utf8Parser(json), handler);
+	}
+
+	/**
+	 * Parses a document incrementally, reporting its events to a handler
+	 * rather than converting it. The engine, lazy, and parallel settings are
+	 * ignored. The reader is not closed.
+	 *
+	 * @param reader
+	 *            source of JSON
+	 * @param handler
+	 *            receives the events
+	 * @throws JSONSimpleException
+	 * @see Converter#parse(Reader, JSONHandler)
+	 */
+	public void parse(Reader reader, JSONHandler handler)
+			throws JSONSimpleException {
+		Buffers buffers = take();
+		try {
+			if (buffers.chars == null)
+				buffers.chars = new char[JSONReader.DEFAULT_BUFFER_SIZE];
+			JSONReader r = new JSONReader(reader, buffers.chars,
+					buffers.strings);
+			r.options = options;
+			r.handle(handler);
+		} finally {
+			give(buffers);
+		}
+	}
+
+	/**
+	 * Parses a file, reporting its events to a handler rather than converting
+	 * it. The engine, lazy, and parallel settings are ignored.
+	 *
+	 * @param path
+	 *            file of UTF-8 encoded JSON
+	 * @param handler
+	 *            receives the events
+	 * @throws JSONSimpleException
+	 * @see Converter#parse(Path, JSONHandler)
+	 */
+	public void parse(Path path, JSONHandler handler)
+			throws JSONSimpleException {
+		ByteBuffer buffer = MappedFile.map(path);
+		if (buffer != null) {
+			parse(buffer, handler);
+			return;
+		}
+		InputStream in = MappedFile.stream(path);
+		try {
+			parse(new InputStreamReader(in, JSONReader.UTF8), handler);
+		} finally {
+			MappedFile.close(in);
+		}
+	}
+
+	/**
+	 * Extracts the values at the ends of the given paths. The engine and lazy
+	 * settings are ignored.
+	 *
+	 * @param json
+	 *            JSON document
+	 * @param paths
+	 *            JSON pointers or path expressions
+	 * @return map from each path to the value, or list of values, found at its
+	 *         end, omitting paths which lead nowhere
+	 * @throws JSONSimpleException
+	 * @see Converter#select(String, String...)
+	 */
+	public Map<String, Object> select(String json, String... paths)
+			throws JSONSimpleException {
+		Projection projection = new Projection(paths);
+		StringParser p = new StringParser(json);
+		p.options = options;
+		Buffers buffers = take();
+		try {
+			p.scratch = buffers.strings;
+			p.keys = buffers.keys(options.keyCache());
+			return p.project(projection);
+		} finally {
+			give(buffers);
+		}
+	}
+
+	/**
+	 * @return settings in effect; a copy, so changes to it have no effect
+	 */
+	public ParseOptions options() {
+		return new ParseOptions(options);
+	}
+
+	private Object parse(DescentParser p) {
+		p.options = options;
+		if (options.lazy())
+			return p.parse();
+		Buffers buffers = take();
+		try {
+			p.scratch = buffers.strings;
+			p.keys = buffers.keys(options.keyCache());
+			return p.parse();
+		} finally {
+			give(buffers);
+		}
+	}
+
+	private void parse(DescentParser p, JSONHandler handler) {
+		p.options = options;
+		Buffers buffers = take();
+		try {
+			p.scratch = buffers.strings;
+			p.keys = buffers.keys(options.keyCache());
+			p.parse(handler);
+		} finally {
+			give(buffers);
+		}
+	}
+
+	private static Buffers take() {
+		Buffers b = BUFFERS.get();
+		if (b == null)
+			return new Buffers();
+		BUFFERS.set(null);
+		return b;
+	}
+
+	private static void give(Buffers b) {
+		if (b.strings.capacity() > MAX_RETAINED)
+			return;
+		b.strings.setLength(0);
+		BUFFERS.set(b);
+	}
+}
@@ -0,0 +1,266 @@
+package dfh.json.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A set of paths into a JSON document, merged into a tree so the document can
+ * be searched for all of them at once by {@link DescentParser#project}, and
+ * the values found at their ends.
+ * <p>
+ * Paths are either RFC 6901 JSON pointers, such as {@code /items/0/price}, or
+ * simple path expressions beginning with {@code $}, such as
+ * {@code $.items[*].price} or {@code $['odd key'][0]}. In the latter a step of
+ * {@code *} matches every member of an object or array; a path containing such
+ * a wildcard selects a list of values rather than a single value, or nothing
+ * if no value matches. Where an object repeats a key, only its last value is
+ * visited, as only that value survives conversion.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class Projection {
+	/**
+	 * Position in the tree of paths.
+	 */
+	static final class Node {
+		private Map<String, Node> children;
+		private Map<Integer, Node> indices;
+		private Node wildcard;
+		/**
+		 * indices of the paths ending here
+		 */
+		private int[] ends = new int[0];
+
+		/**
+		 * @return whether any path ends here
+		 */
+		boolean terminal() {
+			return ends.length > 0;
+		}
+
+		/**
+		 * Collects the nodes reached from this one via an object key.
+		 *
+		 * @param key
+		 * @param next
+		 *            nodes collected so far; may be null
+		 * @return nodes collected; null if there are none
+		 */
+		List<Node> step(String key, List<Node> next) {
+			if (children != null)
+				next = add(children.get(key), next);
+			return add(wildcard, next);
+		}
+
+		/**
+		 * Collects the nodes reached from this one via an array index.
+		 *
+		 * @param index
+		 * @param next
+		 *            nodes collected so far; may be null
+		 * @return nodes collected; null if there are none
+		 */
+		List<Node> step(int index, List<Node> next) {
+			if (children != null)
+				next = add(indices().get(index), next);
+			return add(wildcard, next);
+		}
+
+		private static List<Node> add(Node n, List<Node> next) {
+			if (n == null)
+				return next;
+			if (next == null)
+				next = new ArrayList<Node>(2);
+			next.add(n);
+			return next;
+		}
+
+		/**
+		 * @return children whose keys may serve as array indices
+		 */
+		private Map<Integer, Node> indices() {
+			if (indices == null) {
+				indices = new HashMap<Integer, Node>();
+				for (Entry<String, Node> e : children.entrySet()) {
+					int i = DescentParser.index(e.getKey());
+					if (i > -1)
+						indices.put(i, e.getValue());
+				}
+			}
+			return indices;
+		}
+	}
+
+	final Node root = new Node();
+	private final String[] paths;
+	private final Object[] values;
+	/**
+	 * whether each path contains a wildcard
+	 */
+	private final boolean[] multiple;
+
+	/**
+	 * @param paths
+	 *            JSON pointers or path expressions
+	 * @throws JSONSimpleException
+	 *             if a path is malformed
+	 */
+	Projection(String... paths) throws JSONSimpleException {
+		this.paths = paths;
+		values = new Object[paths.length];
+		multiple = new boolean[paths.length];
+		for (int i = 0; i < paths.length; i++) {
+			String[] steps = steps(paths[i]);
+			values[i] = DescentParser.MISSING;
+			Node n = root;
+			for (String step : steps) {
+				Node next;
+				if (step == null) {
+					multiple[i] = true;
+					values[i] = new ArrayList<Object>();
+					if (n.wildcard == null)
+						n.wildcard = new Node();
+					next = n.wildcard;
+				} else {
+					if (n.children == null)
+						n.children = new HashMap<String, Node>();
+					next = n.children.get(step);
+					if (next == null) {
+						next = new Node();
+						n.children.put(step, next);
+					}
+				}
+				n = next;
+			}
+			n.ends = Arrays.copyOf(n.ends, n.ends.length + 1);
+			n.ends[n.ends.length - 1] = i;
+		}
+	}
+
+	/**
+	 * @param path
+	 *            JSON pointer or path expression
+	 * @return keys and indices of the path; null stands for a wildcard
+	 * @throws JSONSimpleException
+	 */
+	static String[] steps(String path) throws JSONSimpleException {
+		if (!path.startsWith("$"))
+			return Converter.pointer(path);
+		List<String> steps = new ArrayList<String>();
+		int i = 1, n = path.length();
+		while (i < n) {
+			char c = path.charAt(i);
+			int j;
+			if (c == '.') {
+				j = ++i;
+				while (j < n && path.charAt(j) != '.' && path.charAt(j) != '[')
+					j++;
+				if (j == i)
+					throw badPath(path, i);
+				String name = path.substring(i, j);
+				steps.add(name.equals("*") ? null : name);
+				i = j;
+			} else if (c == '[') {
+				i++;
+				char q = i < n ? path.charAt(i) : ']';
+				if (q == '\'' || q == '"') {
+					j = path.indexOf(q, i + 1);
+					if (j == -1 || j + 1 == n || path.charAt(j + 1) != ']')
+						throw badPath(path, i);
+					steps.add(path.substring(i + 1, j));
+					i = j + 2;
+				} else {
+					j = path.indexOf(']', i);
+					if (j == -1)
+						throw badPath(path, i);
+					String step = path.substring(i, j);
+					if (step.equals("*"))
+						steps.add(null);
+					else if (DescentParser.index(step) > -1)
+						steps.add(step);
+					else
+						throw badPath(path, i);
+					i = j + 1;
+				}
+			} else
+				throw badPath(path, i);
+		}
+		return steps.toArray(new String[steps.size()]);
+	}
+
+	private static JSONSimpleException badPath(String path, int offset) {
+		return new JSONSimpleException("bad path expression \"" + path
+				+ "\" at offset " + offset);
+	}
+
+	/**
+	 * Records a value found at a node, and any values found beneath it.
+	 *
+	 * @param value
+	 *            a value already converted
+	 * @param n
+	 *            node at which it was found
+	 */
+	void found(Object value, Node n) {
+		for (int i : n.ends) {
+			if (multiple[i])
+				add(i, value);
+			else
+				values[i] = value;
+		}
+		if (value instanceof Map<?, ?>) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			if (n.children != null) {
+				for (Entry<String, Node> e : n.children.entrySet()) {
+					if (map.containsKey(e.getKey()))
+						found(map.get(e.getKey()), e.getValue());
+				}
+			}
+			if (n.wildcard != null) {
+				for (Object o : map.values())
+					found(o, n.wildcard);
+			}
+		} else if (value instanceof List<?>) {
+			List<?> list = (List<?>) value;
+			if (n.children != null) {
+				for (Entry<Integer, Node> e : n.indices().entrySet()) {
+					if (e.getKey() < list.size())
+						found(list.get(e.getKey()), e.getValue());
+				}
+			}
+			if (n.wildcard != null) {
+				for (Object o : list)
+					found(o, n.wildcard);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void add(int i, Object value) {
+		((List<Object>) values[i]).add(value);
+	}
+
+	/**
+	 * @return map from each path to the value or list of values found at its
+	 *         end, omitting paths which lead nowhere, wildcard paths matching
+	 *         nothing included
+	 */
+	Map<String, Object> results() {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < paths.length; i++) {
+			if (values[i] == DescentParser.MISSING || multiple[i]
+					&& ((List<?>) values[i]).isEmpty())
+				continue;
+			map.put(paths[i], values[i]);
+		}
+		return map;
+	}
+}
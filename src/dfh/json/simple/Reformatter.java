@@ -0,0 +1,346 @@
+package dfh.json.simple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import dfh.json.simple.JSONReader.Token;
+
+/**
+ * Rewrites the whitespace of a JSON document token by token, without
+ * converting it into Java objects. Strings and numbers are copied verbatim.
+ * <p>
+ * Compression holds nothing but the current token in memory. Pretty printing
+ * lays the document out as {@link Converter#convert(Map, int)} would, which
+ * requires some lookahead. An array is laid out on lines of its own if it has
+ * a second member or its first member requires lines of its own, so its first
+ * member is held back until one or the other is known, and the rest is
+ * streamed. When the first member is itself an array found to need lines of
+ * its own, that settles the layout of the arrays enclosing it as well, and
+ * both are streamed from then on, so nested arrays are never held in full. An
+ * object is held in full, as its keys are sorted and aligned. Duplicate keys
+ * are kept when compressing and collapsed, the last value winning, when
+ * pretty printing.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class Reformatter {
+	private final JSONReader r;
+	private final Output out;
+	private final int indent;
+	/**
+	 * buffers for values whose layout is not yet known, one per level of
+	 * deferral
+	 */
+	private final List<Output> held = new ArrayList<Output>();
+	private int level;
+	/**
+	 * arrays whose first members are being read, innermost last, each the
+	 * first member of the one before; an object being read is marked by null,
+	 * as the arrays inside it do not settle the layout of those outside
+	 */
+	private final List<Opening> openings = new ArrayList<Opening>();
+
+	/**
+	 * An array whose layout is not yet known.
+	 */
+	private static class Opening {
+		/**
+		 * destination of the array; once its layout is known, that of the
+		 * outermost array whose layout was settled with it
+		 */
+		Output b;
+		final int margin;
+		/**
+		 * the first member, or as much of it as precedes the settling of the
+		 * layout
+		 */
+		final Output first;
+		boolean open;
+
+		Opening(Output b, int margin, Output first) {
+			this.b = b;
+			this.margin = margin;
+			this.first = first;
+		}
+	}
+
+	/**
+	 * @param r
+	 *            source of tokens
+	 * @param out
+	 *            destination
+	 * @param indent
+	 *            amount nested values are to be indented relative to their
+	 *            context; if this is less than 0, all optional whitespace is
+	 *            removed
+	 */
+	Reformatter(JSONReader r, Output out, int indent) {
+		this.r = r;
+		this.out = out;
+		this.indent = indent;
+		r.raw = true;
+	}
+
+	/**
+	 * Reformats the whole document and flushes the output.
+	 *
+	 * @throws JSONSimpleException
+	 *             if the document is not well-formed
+	 */
+	void run() throws JSONSimpleException {
+		if (indent < 0)
+			compress();
+		else {
+			r.next();
+			value(out, 0);
+			// confirms nothing follows the root
+			r.next();
+		}
+		out.flush();
+	}
+
+	private void compress() {
+		boolean comma = false;
+		Token t;
+		while ((t = r.next()) != null) {
+			switch (t) {
+			case END_OBJECT:
+				out.append('}');
+				comma = true;
+				break;
+			case END_ARRAY:
+				out.append(']');
+				comma = true;
+				break;
+			case FIELD_NAME:
+				if (comma)
+					out.append(',');
+				out.append('"').append(r.verbatim()).append('"').append(':');
+				comma = false;
+				break;
+			default:
+				if (comma)
+					out.append(',');
+				if (t == Token.START_OBJECT)
+					out.append('{');
+				else if (t == Token.START_ARRAY)
+					out.append('[');
+				else
+					scalar(t, out);
+				comma = t != Token.START_OBJECT && t != Token.START_ARRAY;
+			}
+			out.mark();
+		}
+	}
+
+	/**
+	 * Writes the value beginning at the current token, leaving the reader on
+	 * its last token.
+	 *
+	 * @param b
+	 * @param margin
+	 * @return whether the value requires its own lines
+	 */
+	private boolean value(Output b, int margin) {
+		Token t = r.current();
+		if (t == Token.START_ARRAY)
+			return array(b, margin);
+		if (t == Token.START_OBJECT)
+			return object(b, margin);
+		return scalar(t, b);
+	}
+
+	private boolean scalar(Token t, Output b) {
+		switch (t) {
+		case VALUE_STRING:
+			b.append('"').append(r.verbatim()).append('"');
+			return r.getString().length() > 10;
+		case VALUE_NUMBER:
+			b.append(r.verbatim());
+			break;
+		case VALUE_TRUE:
+			b.append("true");
+			break;
+		case VALUE_FALSE:
+			b.append("false");
+			break;
+		default:
+			b.append("null");
+		}
+		return false;
+	}
+
+	private boolean array(Output b, int margin) {
+		if (r.next() == Token.END_ARRAY) {
+			b.append("[ ]");
+			return false;
+		}
+		// the layout depends on whether there is a second member
+		Opening o = new Opening(b, margin, hold());
+		openings.add(o);
+		boolean selfNontrivial = value(o.first, margin + 1);
+		selfNontrivial |= r.next() != Token.END_ARRAY;
+		if (selfNontrivial)
+			open(o);
+		else {
+			openings.remove(openings.size() - 1);
+			b.append('[').append(' ');
+			b.append(o.first.b, 0, o.first.b.length());
+		}
+		release();
+		b = o.b;
+		b.mark();
+		while (r.current() != Token.END_ARRAY) {
+			b.append(',');
+			newline(b, margin + 1);
+			value(b, margin + 1);
+			b.mark();
+			r.next();
+		}
+		if (selfNontrivial)
+			newline(b, margin);
+		else
+			b.append(' ');
+		b.append(']');
+		return selfNontrivial;
+	}
+
+	/**
+	 * Writes the opening of the innermost array whose first member is being
+	 * read, now known to require lines of its own, and of each array of which
+	 * it is, directly or through others, the first member, as these require
+	 * lines of their own too. The arrays are then written straight to the
+	 * destination of the outermost.
+	 *
+	 * @param o
+	 *            the innermost array; nothing is done if its opening is
+	 *            already written
+	 */
+	private void open(Opening o) {
+		if (o.open)
+			return;
+		int i = openings.size() - 1, j = i;
+		while (j > 0 && openings.get(j - 1) != null)
+			j--;
+		Output b = openings.get(j).b;
+		for (int k = j; k <= i; k++) {
+			Opening p = openings.get(k);
+			if (p.margin > 0)
+				newline(b, p.margin);
+			b.append('[');
+			newline(b, p.margin + 1);
+			p.b = b;
+			p.open = true;
+		}
+		// the first members of the enclosing arrays are as yet empty
+		b.append(o.first.b, 0, o.first.b.length());
+		openings.subList(j, i + 1).clear();
+	}
+
+	/**
+	 * A member of an object awaiting layout.
+	 */
+	private static class Member {
+		final String key;
+		final boolean keyNontrivial;
+		/**
+		 * width of the decoded key in quotes
+		 */
+		final int width;
+		final String value;
+		final boolean valueNontrivial;
+
+		Member(String key, String decoded, String value,
+				boolean valueNontrivial) {
+			this.key = key;
+			this.keyNontrivial = decoded.length() > 10;
+			this.width = decoded.length() + 2;
+			this.value = value;
+			this.valueNontrivial = valueNontrivial;
+		}
+	}
+
+	private boolean object(Output b, int margin) {
+		Map<String, Member> members = new TreeMap<String, Member>();
+		Output buffer = hold();
+		openings.add(null);
+		while (r.next() != Token.END_OBJECT) {
+			String decoded = r.getString(), key = r.verbatim();
+			r.next();
+			boolean nontrivial = value(buffer, margin + 2);
+			members.put(decoded,
+					new Member(key, decoded, buffer.toString(), nontrivial));
+			buffer.b.setLength(0);
+		}
+		openings.remove(openings.size() - 1);
+		release();
+		boolean selfNontrivial;
+		if (members.size() == 1) {
+			Member m = members.values().iterator().next();
+			selfNontrivial = m.keyNontrivial && m.valueNontrivial;
+		} else
+			selfNontrivial = !members.isEmpty();
+		if (margin > 0 && selfNontrivial)
+			newline(b, margin);
+		b.append('{');
+		if (!selfNontrivial)
+			b.append(' ');
+		// width to which short keys are padded so their values align
+		int max = 0;
+		if (selfNontrivial) {
+			for (Member m : members.values()) {
+				if (!m.keyNontrivial)
+					max = Math.max(max, m.width);
+			}
+		}
+		boolean nonInitial = false;
+		for (Member m : members.values()) {
+			if (nonInitial)
+				b.append(',');
+			else
+				nonInitial = true;
+			if (selfNontrivial)
+				newline(b, margin + 1);
+			int start = b.length();
+			b.append('"').append(m.key).append('"');
+			if (selfNontrivial && !m.keyNontrivial) {
+				for (int i = b.length() - start; i < max; i++)
+					b.append(' ');
+			}
+			b.append(" : ").append(m.value);
+			b.mark();
+		}
+		if (selfNontrivial)
+			newline(b, margin);
+		else if (!members.isEmpty())
+			b.append(' ');
+		b.append('}');
+		return selfNontrivial;
+	}
+
+	/**
+	 * @return an empty buffer for a value whose layout is not yet known
+	 */
+	private Output hold() {
+		if (level == held.size())
+			held.add(new Output(new StringBuilder()));
+		Output o = held.get(level++);
+		o.b.setLength(0);
+		return o;
+	}
+
+	private void release() {
+		level--;
+	}
+
+	private void newline(Output b, int margin) {
+		b.append('\n');
+		for (int i = 0, n = margin * indent; i < n; i++)
+			b.append(' ');
+	}
+}
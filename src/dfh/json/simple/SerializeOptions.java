@@ -0,0 +1,210 @@
+package dfh.json.simple;
+
+/**
+ * Settings controlling how JSON is generated by a {@link Serializer}. Setters
+ * return the options object, so settings may be chained:
+ *
+ * <pre>
+ * Serializer s = new Serializer(new SerializeOptions().indent(2));
+ * </pre>
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class SerializeOptions {
+	/**
+	 * options used when none are specified
+	 */
+	static final SerializeOptions DEFAULT = new SerializeOptions();
+	/**
+	 * hexadecimal digits for unicode escapes
+	 */
+	static final char[] HEX = "0123456789abcdef".toCharArray();
+	/**
+	 * replacements for ASCII characters, indexed by {@link #escapeSlash} and
+	 * {@link #asciiOnly}; null where a character stands for itself
+	 */
+	private static final String[][] ESCAPES = new String[4][];
+	static {
+		for (int i = 0; i < ESCAPES.length; i++) {
+			String[] table = new String[128];
+			table['\n'] = "\\n";
+			table['\r'] = "\\r";
+			table['\t'] = "\\t";
+			table['\f'] = "\\f";
+			table['\b'] = "\\b";
+			table['\\'] = "\\\\";
+			table['"'] = "\\\"";
+			if ((i & 1) == 0)
+				table['/'] = "\\/";
+			if ((i & 2) != 0) {
+				for (int c = 0; c < ' '; c++) {
+					if (table[c] == null)
+						table[c] = unicode((char) c);
+				}
+				table[0x7F] = unicode((char) 0x7F);
+			}
+			ESCAPES[i] = table;
+		}
+	}
+
+	private int indent = -1;
+	private boolean escapeSlash = true;
+	private boolean asciiOnly;
+	private boolean sortKeys = true;
+	private int parallel;
+
+	/**
+	 * Creates options for compact output.
+	 */
+	public SerializeOptions() {
+	}
+
+	/**
+	 * @param options
+	 *            options to copy
+	 */
+	SerializeOptions(SerializeOptions options) {
+		indent = options.indent;
+		escapeSlash = options.escapeSlash;
+		asciiOnly = options.asciiOnly;
+		sortKeys = options.sortKeys;
+		parallel = options.parallel;
+	}
+
+	/**
+	 * @param indent
+	 *            amount nested values are to be indented relative to their
+	 *            context; if this is less than 0, there will be no indentation
+	 * @return this
+	 */
+	public SerializeOptions indent(int indent) {
+		this.indent = indent;
+		return this;
+	}
+
+	/**
+	 * @return amount nested values are to be indented relative to their
+	 *         context; less than 0 for compact output
+	 */
+	public int indent() {
+		return indent;
+	}
+
+	/**
+	 * Sets whether indented output lists the members of objects in the order
+	 * of their keys. If not, members are listed in the map's iteration order,
+	 * which for parsed documents is the order of the text, and no sorting is
+	 * done at all. On by default. Compact output is never sorted.
+	 *
+	 * @param sortKeys
+	 *            whether to sort the members of objects by key
+	 * @return this
+	 */
+	public SerializeOptions sortKeys(boolean sortKeys) {
+		this.sortKeys = sortKeys;
+		return this;
+	}
+
+	/**
+	 * @return whether indented output sorts the members of objects by key
+	 */
+	public boolean sortKeys() {
+		return sortKeys;
+	}
+
+	/**
+	 * Sets whether '/' is escaped as {@code \/}. JSON permits but does not
+	 * require this; it guards against the sequence {@code </} closing an HTML
+	 * script element in which JSON is embedded. On by default; turning it off
+	 * shortens output heavy in URLs and paths.
+	 *
+	 * @param escapeSlash
+	 *            whether to escape '/'
+	 * @return this
+	 */
+	public SerializeOptions escapeSlash(boolean escapeSlash) {
+		this.escapeSlash = escapeSlash;
+		return this;
+	}
+
+	/**
+	 * @return whether '/' is escaped
+	 */
+	public boolean escapeSlash() {
+		return escapeSlash;
+	}
+
+	/**
+	 * Sets whether output is restricted to printable ASCII. If so, control
+	 * characters lacking a short escape, DEL, and all characters beyond ASCII
+	 * are written as <code>&#92;uXXXX</code> escapes, so the output survives any
+	 * ASCII-compatible encoding. Off by default.
+	 *
+	 * @param asciiOnly
+	 *            whether to escape all but printable ASCII
+	 * @return this
+	 */
+	public SerializeOptions asciiOnly(boolean asciiOnly) {
+		this.asciiOnly = asciiOnly;
+		return this;
+	}
+
+	/**
+	 * @return whether all but printable ASCII is escaped
+	 */
+	public boolean asciiOnly() {
+		return asciiOnly;
+	}
+
+	/**
+	 * Sets the size from which a collection being serialized, if it is the
+	 * root of the document, is serialized on several threads. Runs of members
+	 * are written into separate buffers on a shared
+	 * {@link java.util.concurrent.ForkJoinPool} and the buffers are then
+	 * written out in order, so the output is exactly that of sequential
+	 * serialization. Only a bounded number of runs are in progress at once.
+	 * The pool is that used by {@link ParseOptions#parallel(int)}.
+	 *
+	 * @param threshold
+	 *            number of members from which to serialize in parallel; 0, the
+	 *            default, to always serialize sequentially
+	 * @return this
+	 */
+	public SerializeOptions parallel(int threshold) {
+		if (threshold < 0)
+			throw new JSONSimpleException(
+					"parallel serialization threshold must be non-negative");
+		this.parallel = threshold;
+		return this;
+	}
+
+	/**
+	 * @return number of members from which a root collection is serialized
+	 *         in parallel; 0 if it never is
+	 */
+	public int parallel() {
+		return parallel;
+	}
+
+	/**
+	 * @return table of replacements for ASCII characters in strings; null
+	 *         where a character stands for itself
+	 */
+	String[] escapes() {
+		return ESCAPES[(escapeSlash ? 0 : 1) + (asciiOnly ? 2 : 0)];
+	}
+
+	/**
+	 * @param c
+	 * @return unicode escape sequence for the character
+	 */
+	static String unicode(char c) {
+		StringBuilder b = new StringBuilder(6).append("\\u");
+		for (int shift = 12; shift >= 0; shift -= 4)
+			b.append(HEX[(c >> shift) & 0xF]);
+		return b.toString();
+	}
+}
@@ -0,0 +1,120 @@
+package dfh.json.simple;
+
+/**
+ * Reusable, thread-safe JSON generator. A serializer's settings are fixed
+ * when it is constructed, so a single instance may be shared by any number of
+ * threads. Each thread keeps the buffer in which output is built and reuses it
+ * from call to call, so serializing many documents in succession involves
+ * little beyond the allocation of the resulting strings.
+ *
+ * <pre>
+ * private static final Serializer PRETTY = new Serializer(
+ * 		new SerializeOptions().indent(2));
+ * ...
+ * String json = PRETTY.serialize(map);
+ * </pre>
+ * <p>
+ * Values are serialized as by {@link Converter#convert(java.util.Map, int)}
+ * and its kin: maps, collections, object arrays, and arrays of basic types
+ * become JSON objects and arrays, and nested values must be strings,
+ * numbers, booleans, null, or further such containers.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public final class Serializer {
+	/**
+	 * buffers larger than this are discarded rather than kept for reuse
+	 */
+	private static final int MAX_RETAINED = 1 << 16;
+	/**
+	 * per-thread buffer; null while in use, so reentrant calls get their own
+	 */
+	private static final ThreadLocal<StringBuilder> BUFFERS = new ThreadLocal<StringBuilder>();
+
+	private final SerializeOptions options;
+
+	/**
+	 * Creates a serializer generating compact JSON.
+	 */
+	public Serializer() {
+		this(SerializeOptions.DEFAULT);
+	}
+
+	/**
+	 * @param options
+	 *            settings; these are copied, so later changes to the options
+	 *            do not affect the serializer
+	 */
+	public Serializer(SerializeOptions options) {
+		this.options = new SerializeOptions(options);
+	}
+
+	/**
+	 * @param value
+	 *            value to serialize
+	 * @return JSON
+	 * @throws JSONSimpleException
+	 *             if the value cannot be converted
+	 */
+	public String serialize(Object value) throws JSONSimpleException {
+		StringBuilder buffer = take();
+		try {
+			Output b = new Output(buffer);
+			b.options = options;
+			Converter.write(value, b, options.indent());
+			return buffer.toString();
+		} finally {
+			give(buffer);
+		}
+	}
+
+	/**
+	 * Writes a value to the given destination. Output is passed on in chunks
+	 * as it is generated rather than being accumulated in a single string.
+	 *
+	 * @param value
+	 *            value to serialize
+	 * @param out
+	 *            destination of JSON; it is not flushed or closed
+	 * @throws JSONSimpleException
+	 *             if the value cannot be converted or the output cannot be
+	 *             written
+	 */
+	public void serialize(Object value, Appendable out)
+			throws JSONSimpleException {
+		StringBuilder buffer = take();
+		try {
+			Output b = new Output(out, buffer);
+			b.options = options;
+			Converter.write(value, b, options.indent());
+			b.flush();
+		} finally {
+			give(buffer);
+		}
+	}
+
+	/**
+	 * @return settings in effect; a copy, so changes to it have no effect
+	 */
+	public SerializeOptions options() {
+		return new SerializeOptions(options);
+	}
+
+	private static StringBuilder take() {
+		StringBuilder b = BUFFERS.get();
+		if (b == null)
+			return new StringBuilder(Output.CHUNK + Output.CHUNK / 4);
+		BUFFERS.set(null);
+		return b;
+	}
+
+	private static void give(StringBuilder b) {
+		if (b.capacity() > MAX_RETAINED)
+			return;
+		b.setLength(0);
+		BUFFERS.set(b);
+	}
+}
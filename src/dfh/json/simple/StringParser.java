@@ -0,0 +1,58 @@
+package dfh.json.simple;
+
+/**
+ * {@link DescentParser} reading from a {@link String}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class StringParser extends DescentParser {
+	private final String json;
+
+	StringParser(String json) {
+		super(json.length());
+		this.json = json;
+	}
+
+	@Override
+	DescentParser fork() {
+		return new StringParser(json);
+	}
+
+	@Override
+	int at(int i) {
+		return json.charAt(i);
+	}
+
+	@Override
+	int scan(int i) {
+		for (; i < length; i++) {
+			char c = json.charAt(i);
+			if (c == '"' || c == '\\' || forbidden(c))
+				return i;
+		}
+		return length;
+	}
+
+	@Override
+	String string(int start, int end) {
+		return json.substring(start, end);
+	}
+
+	@Override
+	void append(StringBuilder b, int start, int end) {
+		b.append(json, start, end);
+	}
+
+	@Override
+	CharSequence source() {
+		return json;
+	}
+
+	@Override
+	JSONSimpleException error(String problem, int offset) {
+		return Converter.parseError(problem, json, 0, offset, false);
+	}
+}
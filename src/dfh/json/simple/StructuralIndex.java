@@ -0,0 +1,81 @@
+package dfh.json.simple;
+
+import java.util.Arrays;
+
+/**
+ * Records the extent of every object and array in a document so that they may
+ * subsequently be skipped without being rescanned. The index is built by
+ * {@link DescentParser#skipValue()} as the document is validated; the offsets
+ * of containers are recorded in the order they are opened, so they are sorted
+ * and the end of any container can be found by binary search.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class StructuralIndex {
+	/**
+	 * offsets of opening brackets
+	 */
+	private int[] starts = new int[64];
+	/**
+	 * offsets following the corresponding closing brackets
+	 */
+	private int[] ends = new int[64];
+	private int n;
+	/**
+	 * whether the entire document has been indexed
+	 */
+	boolean complete;
+
+	/**
+	 * Records the opening of a container.
+	 *
+	 * @param start
+	 *            offset of opening bracket
+	 * @return slot to pass to {@link #close(int, int)}
+	 */
+	int open(int start) {
+		if (n == starts.length) {
+			starts = Arrays.copyOf(starts, n * 2);
+			ends = Arrays.copyOf(ends, n * 2);
+		}
+		starts[n] = start;
+		return n++;
+	}
+
+	/**
+	 * Records the closing of a container.
+	 *
+	 * @param slot
+	 *            value returned by {@link #open(int)}
+	 * @param end
+	 *            offset following closing bracket
+	 */
+	void close(int slot, int end) {
+		ends[slot] = end;
+	}
+
+	/**
+	 * @param start
+	 *            offset of an opening bracket in an indexed document
+	 * @return offset following the corresponding closing bracket
+	 */
+	int end(int start) {
+		int i = Arrays.binarySearch(starts, 0, n, start);
+		if (i < 0)
+			throw new JSONSimpleException(
+					"LOGIC ERROR: no container indexed at offset " + start);
+		return ends[i];
+	}
+
+	/**
+	 * Releases unused capacity once indexing is complete.
+	 */
+	void trim() {
+		starts = Arrays.copyOf(starts, n);
+		ends = Arrays.copyOf(ends, n);
+		complete = true;
+	}
+}
@@ -0,0 +1,236 @@
+package dfh.json.simple;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * {@link DescentParser} reading UTF-8 encoded JSON directly from bytes. The
+ * document is never decoded as a whole; only the spans making up string values
+ * and keys are, and spans of pure ASCII are copied rather than decoded.
+ * Offsets in error messages are character offsets, so they agree with those
+ * produced when parsing the decoded string.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+final class Utf8Parser extends DescentParser {
+	private static final Charset LATIN1 = Charset.forName("ISO-8859-1");
+	/**
+	 * number of bytes on either side of a point of failure decoded for error
+	 * messages; enough for 20 characters of any width
+	 */
+	private static final int WINDOW = 80;
+
+	private final ByteBuffer buf;
+	/**
+	 * backing array of the buffer, if accessible
+	 */
+	private final byte[] array;
+	/**
+	 * index in {@link #array} or {@link #buf} of offset 0
+	 */
+	private final int base;
+	private byte[] scratch;
+	private CharSequence source;
+
+	/**
+	 * @param bytes
+	 *            UTF-8 encoded JSON
+	 * @param offset
+	 *            offset of first byte of JSON
+	 * @param length
+	 *            number of bytes of JSON
+	 */
+	Utf8Parser(byte[] bytes, int offset, int length) {
+		super(length);
+		if (offset < 0 || length < 0 || offset + length > bytes.length)
+			throw new IndexOutOfBoundsException("offset " + offset
+					+ " and length " + length + " outside array of length "
+					+ bytes.length);
+		this.buf = null;
+		this.array = bytes;
+		this.base = offset;
+	}
+
+	/**
+	 * @param buf
+	 *            UTF-8 encoded JSON between the buffer's position and limit;
+	 *            the position is not changed
+	 */
+	Utf8Parser(ByteBuffer buf) {
+		super(buf.remaining());
+		if (buf.hasArray()) {
+			this.buf = null;
+			this.array = buf.array();
+			this.base = buf.arrayOffset() + buf.position();
+		} else {
+			this.buf = buf;
+			this.array = null;
+			this.base = buf.position();
+		}
+	}
+
+	/**
+	 * @param p
+	 *            parser whose bytes are to be shared
+	 */
+	private Utf8Parser(Utf8Parser p) {
+		super(p.length);
+		this.buf = p.buf == null ? null : p.buf.duplicate();
+		this.array = p.array;
+		this.base = p.base;
+	}
+
+	@Override
+	DescentParser fork() {
+		return new Utf8Parser(this);
+	}
+
+	@Override
+	int at(int i) {
+		if (array == null)
+			return buf.get(base + i) & 0xFF;
+		return array[base + i] & 0xFF;
+	}
+
+	@Override
+	boolean encoded() {
+		return true;
+	}
+
+	@Override
+	int scan(int i) {
+		if (array == null) {
+			for (; i < length; i++) {
+				int c = buf.get(base + i);
+				if (c == '"' || c == '\\' || forbidden(c))
+					return i;
+			}
+			return length;
+		}
+		for (int j = base + i, lim = base + length; j < lim; j++) {
+			int c = array[j];
+			if (c == '"' || c == '\\' || forbidden(c))
+				return j - base;
+		}
+		return length;
+	}
+
+	@Override
+	String string(int start, int end) {
+		byte[] bytes = array;
+		int offset = base + start;
+		if (bytes == null) {
+			bytes = copy(start, end);
+			offset = 0;
+		}
+		int n = end - start;
+		for (int i = offset, lim = offset + n; i < lim; i++) {
+			if (bytes[i] < 0)
+				return new String(bytes, offset, n, JSONReader.UTF8);
+		}
+		return new String(bytes, offset, n, LATIN1);
+	}
+
+	@Override
+	void append(StringBuilder b, int start, int end) {
+		b.append(string(start, end));
+	}
+
+	/**
+	 * Numbers are pure ASCII, so within them byte offsets are character
+	 * offsets. Lazy numbers may read their text through this sequence on any
+	 * thread once parsing is done, so its spans are decoded without the
+	 * parser's scratch array.
+	 */
+	@Override
+	CharSequence source() {
+		if (source == null) {
+			source = new CharSequence() {
+				@Override
+				public int length() {
+					return length;
+				}
+
+				@Override
+				public char charAt(int index) {
+					return (char) at(index);
+				}
+
+				@Override
+				public CharSequence subSequence(int start, int end) {
+					return ascii(start, end);
+				}
+
+				@Override
+				public String toString() {
+					return string(0, length);
+				}
+			};
+		}
+		return source;
+	}
+
+	/**
+	 * Decodes a span of pure ASCII without touching any state shared between
+	 * calls, so it is safe on any thread.
+	 *
+	 * @param start
+	 * @param end
+	 * @return decoded text of the span
+	 */
+	private String ascii(int start, int end) {
+		if (array != null)
+			return new String(array, base + start, end - start, LATIN1);
+		byte[] bytes = new byte[end - start];
+		ByteBuffer dup = buf.duplicate();
+		dup.position(base + start);
+		dup.get(bytes);
+		return new String(bytes, LATIN1);
+	}
+
+	/**
+	 * Copies a span of a buffer without a backing array into a scratch array.
+	 *
+	 * @param start
+	 * @param end
+	 * @return scratch array holding the span at offset 0
+	 */
+	private byte[] copy(int start, int end) {
+		int n = end - start;
+		if (scratch == null || scratch.length < n)
+			scratch = new byte[Math.max(n, 256)];
+		ByteBuffer dup = buf.duplicate();
+		dup.position(base + start);
+		dup.get(scratch, 0, n);
+		return scratch;
+	}
+
+	@Override
+	JSONSimpleException error(String problem, int offset) {
+		int from = Math.max(0, offset - WINDOW), to = Math.min(length, offset
+				+ WINDOW);
+		while (from > 0 && continuation(from))
+			from--;
+		while (to < length && continuation(to))
+			to++;
+		long chars = 0;
+		for (int i = 0; i < from; i++) {
+			int c = at(i);
+			if ((c & 0xC0) != 0x80)
+				chars++;
+			if ((c & 0xF8) == 0xF0)
+				chars++; // supplementary characters are surrogate pairs
+		}
+		String before = string(from, offset);
+		String window = before + string(offset, to);
+		return Converter.parseError(problem, window, chars,
+				chars + before.length(), to < length);
+	}
+
+	private boolean continuation(int i) {
+		return (at(i) & 0xC0) == 0x80;
+	}
+}
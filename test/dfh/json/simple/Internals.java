@@ -0,0 +1,44 @@
+package dfh.json.simple;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Exposes package-private internals to the tests in
+ * {@code dfh.json.simple.test}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class Internals {
+	private Internals() {
+	}
+
+	/**
+	 * Gives the shared fork-join pool four threads, unless its parallelism has
+	 * been set otherwise, so the parallel code paths are exercised even on a
+	 * single processor. This has effect only if called before the pool is
+	 * first used.
+	 *
+	 * @return parallelism of the shared pool
+	 */
+	public static int parallelism() {
+		if (System.getProperty(ParallelArray.PARALLELISM) == null)
+			System.setProperty(ParallelArray.PARALLELISM, "4");
+		return ParallelArray.pool().getParallelism();
+	}
+
+	/**
+	 * @param path
+	 * @param window
+	 *            size of the mapped windows
+	 * @return a stream reading the file through mapped windows of the given
+	 *         size
+	 * @see MappedFile#stream(Path, long)
+	 */
+	public static InputStream stream(Path path, long window) {
+		return MappedFile.stream(path, window);
+	}
+}
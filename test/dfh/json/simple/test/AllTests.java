@@ -21,7 +21,27 @@ import org.junit.runners.Suite;
 		PrettyTest.class,//
 		ProblemUnicode.class,//
 		BasicTypeArrays.class,//
-		Regressions.class//
+		Regressions.class,//
+		Engines.class,//
+		PullParsing.class,//
+		StreamingWriter.class,//
+		Utf8Parsing.class,//
+		TypedArrays.class,//
+		NumberModes.class,//
+		LazyParsing.class,//
+		Projections.class,//
+		ReusableInstances.class,//
+		KeyCaching.class,//
+		EscapeOptions.class,//
+		NumberFormatting.class,//
+		PrettyOrder.class,//
+		PrettyLayout.class,//
+		Reformatting.class,//
+		ParallelParsing.class,//
+		ParallelSerialization.class,//
+		JSONLines.class,//
+		MappedFiles.class,//
+		Handlers.class//
 })
 public class AllTests {
 }
@@ -88,4 +88,28 @@ public class BasicTypeArrays {
 		}
 	}
 
+	@Test
+	public void output() {
+		assertEquals("[0,-1]", Converter.convert(new int[] { 0, -1 }));
+		assertEquals("[" + Long.MIN_VALUE + "]",
+				Converter.convert(new long[] { Long.MIN_VALUE }));
+		assertEquals("[1.5,1.0E14]", Converter.convert(new double[] { 1.5,
+				1e14 }));
+		assertEquals("[1.1]", Converter.convert(new float[] { 1.1f }));
+		assertEquals("[-128,7]", Converter.convert(new byte[] { -128, 7 }));
+		assertEquals("[3]", Converter.convert(new short[] { 3 }));
+		assertEquals("[true,false]", Converter.convert(new boolean[] { true,
+				false }));
+		assertEquals("[\"a\",\"\\\"\"]",
+				Converter.convert(new char[] { 'a', '"' }));
+	}
+
+	@Test
+	public void pretty() {
+		assertEquals("[1 ]", Converter.convert(new int[] { 1 }, 3));
+		assertEquals("[1,2\n]", Converter.convert(new int[] { 1, 2 }, 3));
+		Object[] ar = { new long[] { 1, 2 } };
+		assertEquals("[\n   [1,2\n   ] ]", Converter.convert(ar, 3));
+	}
+
 }
@@ -0,0 +1,96 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.Converter.Engine;
+import dfh.json.simple.JSONSimpleException;
+
+/**
+ * Makes sure the recursive descent and grammar engines agree.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class Engines {
+
+	private static final String[] GOOD = {
+			"[]",
+			" { } ",
+			"{\"a\":1,\"b\":-0.5e+3,\"c\":[true,false,null],\"d\":{}}",
+			"[\"\\r\\n\\t\\b\\f\\\\\\/\\\"\",\"\\u0950x\",\"plain\"]",
+			"[0,-1,1.5,2E5,3e-2,12345678901234567890123]",
+			"\n[ [ [ ] ] , { \"a\" : [ 1 ] } ]\t",
+			"{\"\":\"\",\"k\\\"\":\"\\\\\",\"\u00e9t\u00e9\":\"a\\u0062c\"}", };
+
+	private static final String[] BAD = { "\"a\":1}", "{\"a\"1.0}",
+			"{\"a\":1.0", "[1,]", "{\"a\":1,}", "[01]", "[1.]", "[-]",
+			"[1e]", "[tru]", "[\"abc", "[] x", "[\"\\u\uFF10041\"]", };
+
+	@Test
+	public void agreement() {
+		for (String json : GOOD) {
+			Object o1 = Converter.convert(json, Engine.DESCENT);
+			Object o2 = Converter.convert(json, Engine.GRAMMAR);
+			assertEquals("engines agree on " + json, o2, o1);
+		}
+	}
+
+	@Test
+	public void errorAgreement() {
+		for (String json : BAD) {
+			String m1 = null, m2 = null;
+			try {
+				Converter.convert(json, Engine.DESCENT);
+				fail("descent parser accepted " + json);
+			} catch (JSONSimpleException e) {
+				m1 = e.getMessage();
+			}
+			try {
+				Converter.convert(json, Engine.GRAMMAR);
+				fail("grammar accepted " + json);
+			} catch (JSONSimpleException e) {
+				m2 = e.getMessage();
+			}
+			assertEquals("same error for " + json, m2, m1);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void numberTypes() {
+		List<Object> list = (List<Object>) Converter.convert("[1,1.0,1e1]");
+		assertEquals(BigInteger.ONE, list.get(0));
+		assertEquals(new BigDecimal("1.0"), list.get(1));
+		assertEquals(new BigDecimal("1e1"), list.get(2));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void escapes() {
+		Map<String, Object> map = (Map<String, Object>) Converter
+				.convert("{\"a\\tb\":\"x\\u0041\\\\y\"}");
+		assertEquals("x\u0041\\y", map.get("a\tb"));
+	}
+
+	@Test
+	public void errorOffset() {
+		try {
+			Converter.convert("[1,2,x]");
+			fail("should have thrown error");
+		} catch (JSONSimpleException e) {
+			assertEquals("parsing failed at offset 5 marked by '<HERE>': "
+					+ "[1,2,<HERE>x]", e.getMessage());
+		}
+	}
+}
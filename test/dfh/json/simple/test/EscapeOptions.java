@@ -0,0 +1,61 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.SerializeOptions;
+import dfh.json.simple.Serializer;
+
+/**
+ * Tests the string escaping settings of {@link SerializeOptions}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class EscapeOptions {
+	private static final List<String> STRINGS = Arrays.asList(
+			"http://x.com/a/b", "tab\there \"q\" \\ \u0001\u007f",
+			"\u00e9\u0950\ud83d\ude00", "");
+
+	@Test
+	public void defaults() {
+		String json = new Serializer().serialize(STRINGS);
+		assertEquals(Converter.convert(STRINGS), json);
+		assertEquals(
+				"[\"http:\\/\\/x.com\\/a\\/b\",\"tab\\there \\\"q\\\" \\\\ \u0001\u007f\","
+						+ "\"\u00e9\u0950\ud83d\ude00\",\"\"]", json);
+		assertEquals(STRINGS, Converter.convert(json));
+	}
+
+	@Test
+	public void slash() {
+		String json = new Serializer(new SerializeOptions().escapeSlash(false))
+				.serialize(STRINGS);
+		assertEquals("\"http://x.com/a/b\"", json.substring(1, 19));
+		assertEquals(STRINGS, Converter.convert(json));
+	}
+
+	@Test
+	public void ascii() {
+		String json = new Serializer(new SerializeOptions().asciiOnly(true)
+				.escapeSlash(false)).serialize(STRINGS);
+		assertEquals("[\"http://x.com/a/b\",\"tab\\there \\\"q\\\" \\\\ "
+				+ "\\u0001\\u007f\",\"\\u00e9\\u0950\\ud83d\\ude00\",\"\"]",
+				json);
+		assertEquals(STRINGS, Converter.convert(json));
+	}
+
+	@Test
+	public void chars() {
+		Serializer s = new Serializer(new SerializeOptions().asciiOnly(true));
+		assertEquals("[\"\\/\",\"\\u00e9\",\"a\"]",
+				s.serialize(new char[] { '/', '\u00e9', 'a' }));
+	}
+}
@@ -0,0 +1,208 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.JSONHandler;
+import dfh.json.simple.JSONHandlerAdapter;
+import dfh.json.simple.JSONSimpleException;
+import dfh.json.simple.ParseOptions;
+import dfh.json.simple.ParseOptions.NumberMode;
+import dfh.json.simple.Parser;
+
+/**
+ * Tests {@link JSONHandler}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class Handlers {
+	private static final String JSON = "{\"a\":[1,-2.5e1,\"x\\ny\"],\"b\":{},\"c\":[],"
+			+ "\"d\":true,\"e\":false,\"f\":null,\"g\":{\"h\":\"café\"}}";
+	private static final String EVENTS = "{ a [ 1 -25 x\ny ] b { } c [ ] d true "
+			+ "e false f null g { h café } }";
+
+	/**
+	 * Records events as a space-separated string.
+	 */
+	private static class Recorder implements JSONHandler {
+		final StringBuilder b = new StringBuilder();
+
+		private void event(Object o) {
+			if (b.length() > 0)
+				b.append(' ');
+			b.append(o);
+		}
+
+		@Override
+		public void startObject() {
+			event('{');
+		}
+
+		@Override
+		public void endObject() {
+			event('}');
+		}
+
+		@Override
+		public void startArray() {
+			event('[');
+		}
+
+		@Override
+		public void endArray() {
+			event(']');
+		}
+
+		@Override
+		public void key(String key) {
+			event(key);
+		}
+
+		@Override
+		public void stringValue(String value) {
+			event(value);
+		}
+
+		@Override
+		public void numberValue(Number value) {
+			event(value.intValue());
+		}
+
+		@Override
+		public void booleanValue(boolean value) {
+			event(value);
+		}
+
+		@Override
+		public void nullValue() {
+			event(null);
+		}
+	}
+
+	@Test
+	public void events() throws IOException {
+		Recorder r = new Recorder();
+		Converter.parse(JSON, r);
+		assertEquals(EVENTS, r.b.toString());
+		r = new Recorder();
+		Converter.parse(new StringReader(JSON), r);
+		assertEquals(EVENTS, r.b.toString());
+		r = new Recorder();
+		new Parser().parse(ByteBuffer.wrap(JSON.getBytes("UTF-8")), r);
+		assertEquals(EVENTS, r.b.toString());
+		Path path = Files.createTempFile("handler", ".json");
+		try {
+			Files.write(path, JSON.getBytes("UTF-8"));
+			r = new Recorder();
+			Converter.parse(path, r);
+			assertEquals(EVENTS, r.b.toString());
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void aggregate() {
+		StringBuilder b = new StringBuilder("[");
+		long expected = 0;
+		for (int i = 0; i < 1000; i++) {
+			if (i > 0)
+				b.append(',');
+			b.append("{\"id\":\"").append(i).append("\",\"n\":").append(i * 3)
+					.append('}');
+			expected += i * 3;
+		}
+		b.append(']');
+		final long[] total = new long[1];
+		final int[] count = new int[1];
+		JSONHandler h = new JSONHandlerAdapter() {
+			@Override
+			public void startObject() {
+				count[0]++;
+			}
+
+			@Override
+			public void numberValue(Number value) {
+				assertTrue(value instanceof Long);
+				total[0] += value.longValue();
+			}
+		};
+		Parser p = new Parser(new ParseOptions().numbers(NumberMode.FAST));
+		p.parse(b.toString(), h);
+		assertEquals(expected, total[0]);
+		assertEquals(1000, count[0]);
+		total[0] = count[0] = 0;
+		p.parse(new StringReader(b.toString()), h);
+		assertEquals(expected, total[0]);
+		assertEquals(1000, count[0]);
+	}
+
+	@Test
+	public void errors() {
+		for (String json : new String[] { "[1,2,", "{\"a\" 1}", "[1] x",
+				"[\"a\\q\"]", "7" }) {
+			String expected = null;
+			try {
+				Converter.convert(json);
+				fail("converted " + json);
+			} catch (JSONSimpleException e) {
+				expected = e.getMessage();
+			}
+			try {
+				Converter.parse(json, new Recorder());
+				fail("parsed " + json);
+			} catch (JSONSimpleException e) {
+				assertEquals(expected, e.getMessage());
+			}
+			try {
+				Converter.parse(new StringReader(json), new Recorder());
+				fail("parsed " + json);
+			} catch (JSONSimpleException e) {
+				assertEquals(expected, e.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void partial() {
+		Recorder r = new Recorder();
+		try {
+			Converter.parse("[1,{\"a\":true},", r);
+			fail("parsed truncated document");
+		} catch (JSONSimpleException e) {
+		}
+		assertEquals("[ 1 { a true }", r.b.toString());
+	}
+
+	@Test
+	public void handlerException() {
+		final IllegalStateException stop = new IllegalStateException();
+		try {
+			Converter.parse("[1,2,3]", new JSONHandlerAdapter() {
+				@Override
+				public void numberValue(Number value) {
+					if (value.intValue() == 2)
+						throw stop;
+				}
+			});
+			fail("handler exception swallowed");
+		} catch (IllegalStateException e) {
+			assertTrue(e == stop);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.Internals;
+import dfh.json.simple.JSONLinesReader;
+import dfh.json.simple.JSONLinesWriter;
+import dfh.json.simple.JSONSimpleException;
+
+/**
+ * Tests {@link JSONLinesReader} and {@link JSONLinesWriter}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class JSONLines {
+
+	@BeforeClass
+	public static void pool() {
+		assertTrue("shared pool runs on one thread",
+				Internals.parallelism() >= 2);
+	}
+
+	private static List<Object> records(int n) {
+		List<Object> list = new ArrayList<Object>();
+		for (int i = 0; i < n; i++) {
+			Map<String, Object> m = new LinkedHashMap<String, Object>();
+			m.put("id", i);
+			m.put("text", "line\nbreak " + i);
+			list.add(m);
+		}
+		return list;
+	}
+
+	@Test
+	public void lineEndings() {
+		String text = "{\"a\":1}\r\n\r\n  [2, 3]\n\t \n{\"b\":\"\\n\"}\r[]";
+		JSONLinesReader r = new JSONLinesReader(new StringReader(text));
+		List<Object> docs = new ArrayList<Object>();
+		for (Object o : r)
+			docs.add(o);
+		assertEquals(4, docs.size());
+		assertEquals(Converter.convert("{\"a\":1}"), docs.get(0));
+		assertEquals(Converter.convert("[2,3]"), docs.get(1));
+		assertEquals("\n", ((Map<?, ?>) docs.get(2)).get("b"));
+		assertEquals(6, r.line());
+		assertFalse(r.hasNext());
+	}
+
+	@Test
+	public void roundTrip() throws IOException {
+		List<Object> records = records(5000);
+		for (boolean parallel : new boolean[] { false, true }) {
+			StringWriter w = new StringWriter();
+			JSONLinesWriter writer = new JSONLinesWriter(w).parallel(parallel);
+			writer.write(records.get(0));
+			writer.writeAll(records.subList(1, records.size()));
+			writer.close();
+			String text = w.toString();
+			assertTrue(text.startsWith("{\"id\":0,\"text\":\"line\\nbreak 0\"}\n"));
+			JSONLinesReader r = new JSONLinesReader(new StringReader(text))
+					.parallel(parallel ? 64 : 0);
+			List<Object> read = new ArrayList<Object>();
+			while (true) {
+				List<Object> batch = r.next(1000);
+				if (batch.isEmpty())
+					break;
+				read.addAll(batch);
+			}
+			assertEquals(records.size(), read.size());
+			for (int i = 0; i < records.size(); i++)
+				assertEquals(Converter.convert(Converter
+						.convert((Map<?, ?>) records.get(i))), read.get(i));
+		}
+	}
+
+	@Test
+	public void errors() {
+		String text = "[1]\n\n{\"a\":}\n[2]\n";
+		for (int batch : new int[] { 0, 10 }) {
+			JSONLinesReader r = new JSONLinesReader(new StringReader(text))
+					.parallel(batch);
+			List<Object> docs = new ArrayList<Object>();
+			try {
+				while (r.hasNext())
+					docs.add(r.next());
+				fail("accepted bad line");
+			} catch (JSONSimpleException e) {
+				assertTrue(e.getMessage(),
+						e.getMessage().startsWith("line 3: parsing failed at offset 5"));
+			}
+			// documents before the bad line are returned first
+			assertEquals(Converter.convert("[[1]]"), docs);
+			// and those after it may still be read
+			assertTrue(r.hasNext());
+			assertEquals(Converter.convert("[2]"), r.next());
+			assertFalse(r.hasNext());
+		}
+	}
+
+	@Test
+	public void batchErrors() {
+		String text = "[1]\n[2]\n[3\n[4]\n";
+		for (int batch : new int[] { 0, 10 }) {
+			JSONLinesReader r = new JSONLinesReader(new StringReader(text))
+					.parallel(batch);
+			// documents before the bad line are not lost
+			assertEquals(Converter.convert("[[1],[2]]"), r.next(10));
+			try {
+				r.next(10);
+				fail("accepted bad line");
+			} catch (JSONSimpleException e) {
+				assertTrue(e.getMessage(), e.getMessage().startsWith("line 3: "));
+			}
+			assertEquals(Converter.convert("[[4]]"), r.next(10));
+			assertTrue(r.next(10).isEmpty());
+		}
+	}
+
+	@Test
+	public void documents() throws IOException {
+		for (boolean parallel : new boolean[] { false, true }) {
+			StringWriter out = new StringWriter();
+			JSONLinesWriter w = new JSONLinesWriter(out).parallel(parallel);
+			w.write(new int[] { 1 }).writeAll(
+					Arrays.asList(new TreeSet<Integer>(Arrays.asList(3, 2)),
+							new Object[0]));
+			for (Object value : new Object[] { 5, "x", null, true }) {
+				try {
+					w.write(value);
+					fail("wrote " + value);
+				} catch (JSONSimpleException e) {
+				}
+			}
+			try {
+				w.writeAll(Arrays.asList(new int[] { 4 }, "x"));
+				fail("wrote x");
+			} catch (JSONSimpleException e) {
+			}
+			w.close();
+			assertEquals("[1]\n[2,3]\n[]\n[4]\n", out.toString());
+		}
+	}
+}
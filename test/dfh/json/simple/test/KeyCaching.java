@@ -0,0 +1,99 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.JSONSimpleException;
+import dfh.json.simple.ParseOptions;
+import dfh.json.simple.Parser;
+
+/**
+ * Tests {@link ParseOptions#keyCache(int)}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class KeyCaching {
+
+	private static String records(int n) {
+		StringBuilder b = new StringBuilder("[");
+		for (int i = 0; i < n; i++) {
+			if (i > 0)
+				b.append(',');
+			b.append("{\"id\":").append(i)
+					.append(",\"na\\u006de\":\"x\",\"été\":1,\"k")
+					.append(i % 37).append("\":true}");
+		}
+		return b.append(']').toString();
+	}
+
+	private static Object key(Object record, int index) {
+		return ((Map<?, ?>) record).keySet().toArray()[index];
+	}
+
+	@Test
+	public void shared() {
+		String json = records(100);
+		List<?> l = (List<?>) Converter.convert(json,
+				new ParseOptions().keyCache(256));
+		assertEquals(Converter.convert(json), l);
+		assertSame(key(l.get(0), 0), key(l.get(99), 0));
+		assertSame(key(l.get(0), 2), key(l.get(99), 2));
+		assertNotSame("escaped keys are not cached", key(l.get(0), 1),
+				key(l.get(99), 1));
+		l = (List<?>) Converter.convert(json);
+		assertNotSame(key(l.get(0), 0), key(l.get(99), 0));
+	}
+
+	@Test
+	public void utf8() throws UnsupportedEncodingException {
+		String json = records(50);
+		byte[] bytes = json.getBytes("UTF-8");
+		ParseOptions options = new ParseOptions().keyCache(128);
+		List<?> l = (List<?>) Converter.convertUTF8(bytes, 0, bytes.length,
+				options);
+		assertEquals(Converter.convert(json), l);
+		assertSame(key(l.get(0), 0), key(l.get(49), 0));
+	}
+
+	@Test
+	public void collisions() {
+		String json = records(200);
+		assertEquals(Converter.convert(json),
+				Converter.convert(json, new ParseOptions().keyCache(1)));
+	}
+
+	@Test
+	public void acrossDocuments() {
+		Parser p = new Parser(new ParseOptions().keyCache(128));
+		Object a = p.parse(records(1)), b = p.parse(records(1));
+		assertEquals(a, b);
+		assertSame(key(((List<?>) a).get(0), 0), key(((List<?>) b).get(0), 0));
+	}
+
+	@Test
+	public void size() {
+		String json = records(10);
+		assertEquals(Converter.convert(json),
+				Converter.convert(json, new ParseOptions().keyCache(1 << 16)));
+		for (int size : new int[] { -1, (1 << 16) + 1, (1 << 30) + 1,
+				Integer.MAX_VALUE }) {
+			try {
+				new ParseOptions().keyCache(size);
+				fail("accepted key cache size " + size);
+			} catch (JSONSimpleException e) {
+			}
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.JSONSimpleException;
+import dfh.json.simple.ParseOptions;
+
+/**
+ * Tests parsing with {@link ParseOptions#lazy(boolean)}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class LazyParsing {
+	private static final String JSON = "{\"meta\":{\"id\":7,\"tags\":[\"a\",\"b\\n\"]},"
+			+ "\"items\":[{\"price\":1.5},{\"price\":2},[],{}],\"x\":null,"
+			+ "\"dup\":1,\"flag\":true,\"dup\":[2]}";
+
+	private static ParseOptions lazy() {
+		return new ParseOptions().lazy(true);
+	}
+
+	@Test
+	public void sameAsEager() throws UnsupportedEncodingException {
+		Object eager = Converter.convert(JSON);
+		assertEquals(eager, Converter.convert(JSON, lazy()));
+		assertEquals(Converter.convert(JSON, lazy()), eager);
+		assertEquals(eager,
+				Converter.convertUTF8(JSON.getBytes("UTF-8"), 0,
+						JSON.length(), lazy()));
+		assertEquals(Converter.convert((Map<?, ?>) eager, 3),
+				Converter.convert((Map<?, ?>) Converter.convert(JSON, lazy()),
+						3));
+	}
+
+	@Test
+	public void access() {
+		Map<?, ?> m = (Map<?, ?>) Converter.convert(JSON, lazy());
+		Map<?, ?> meta = (Map<?, ?>) m.get("meta");
+		assertSame("decoded once", meta, m.get("meta"));
+		assertEquals("b\n", ((List<?>) meta.get("tags")).get(1));
+		List<?> items = (List<?>) m.get("items");
+		assertEquals(4, items.size());
+		assertEquals(2, ((Number) ((Map<?, ?>) items.get(1)).get("price"))
+				.intValue());
+		assertTrue(m.containsKey("x"));
+		assertNull(m.get("x"));
+		assertFalse(m.containsKey("y"));
+		assertEquals(5, m.size());
+		assertEquals(Converter.convert("[2]"), m.get("dup"));
+		assertEquals("[meta, items, x, dup, flag]", m.keySet().toString());
+	}
+
+	@Test
+	public void many() {
+		StringBuilder b = new StringBuilder("[");
+		for (int i = 0; i < 500; i++) {
+			if (i > 0)
+				b.append(',');
+			b.append("{\"i\":").append(i).append(",\"v\":[[").append(i)
+					.append("],{}]}");
+		}
+		b.append(']');
+		String json = b.toString();
+		List<?> lazy = (List<?>) Converter.convert(json, lazy());
+		Map<?, ?> m = (Map<?, ?>) lazy.get(499);
+		assertEquals("499", m.get("i").toString());
+		assertEquals(Converter.convert("[[499],{}]"), m.get("v"));
+		assertEquals(Converter.convert(json), lazy);
+	}
+
+	@Test
+	public void readOnly() {
+		@SuppressWarnings("unchecked")
+		Map<String, Object> m = (Map<String, Object>) Converter.convert(JSON,
+				lazy());
+		try {
+			m.put("x", 1);
+			fail("modified lazy object");
+		} catch (UnsupportedOperationException e) {
+		}
+		try {
+			m.keySet().remove("x");
+			fail("modified lazy object");
+		} catch (UnsupportedOperationException e) {
+		}
+	}
+
+	@Test
+	public void validated() {
+		String bad = JSON.substring(0, JSON.length() - 2) + ",]}";
+		String message = null;
+		try {
+			Converter.convert(bad);
+			fail("accepted " + bad);
+		} catch (JSONSimpleException e) {
+			message = e.getMessage();
+		}
+		try {
+			Converter.convert(bad, lazy());
+			fail("accepted " + bad);
+		} catch (JSONSimpleException e) {
+			assertEquals(message, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.Internals;
+import dfh.json.simple.JSONSimpleException;
+import dfh.json.simple.ParseOptions;
+import dfh.json.simple.Parser;
+
+/**
+ * Tests parsing memory-mapped files.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class MappedFiles {
+
+	private static String document() {
+		List<Object> list = new ArrayList<Object>();
+		for (int i = 0; i < 1000; i++) {
+			Map<String, Object> m = new LinkedHashMap<String, Object>();
+			m.put("id", i);
+			m.put("text", "café 😀 " + i);
+			m.put("ratio", i / 7.0);
+			list.add(m);
+		}
+		return Converter.convert(list);
+	}
+
+	private static Path write(String json) throws IOException {
+		Path path = Files.createTempFile("mapped", ".json");
+		Files.write(path, json.getBytes("UTF-8"));
+		return path;
+	}
+
+	@Test
+	public void basic() throws IOException {
+		String json = document();
+		Path path = write(json);
+		try {
+			assertEquals(Converter.convert(json), Converter.convert(path));
+			assertEquals(Converter.convert(json),
+					new Parser().parse(path));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void options() throws IOException {
+		String json = document();
+		ParseOptions options = new ParseOptions().lazy(true).parallel(1);
+		Path path = write(json);
+		try {
+			assertEquals(Converter.convert(json, options),
+					Converter.convert(path, options));
+			assertEquals(Converter.convert(json, options),
+					new Parser(options).parse(path));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void empty() throws IOException {
+		Path path = write("");
+		try {
+			Converter.convert(path);
+			fail("parsed an empty file");
+		} catch (JSONSimpleException e) {
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void missing() throws IOException {
+		Path path = write("[]");
+		Files.delete(path);
+		try {
+			Converter.convert(path);
+			fail("parsed a missing file");
+		} catch (JSONSimpleException e) {
+			assertTrue(e.getMessage().startsWith("failed to read "));
+		}
+	}
+
+	@Test
+	public void windows() throws IOException {
+		String json = document();
+		byte[] bytes = json.getBytes("UTF-8");
+		Path path = write(json);
+		try {
+			// odd sizes, so windows split the multi-byte characters
+			for (long window : new long[] { 1021, 4093, 65537, bytes.length,
+					bytes.length + 1 }) {
+				InputStream in = Internals.stream(path, window);
+				try {
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					byte[] buf = new byte[1000];
+					for (int n; (n = in.read(buf)) != -1;) {
+						out.write(buf, 0, n);
+						int c = in.read();
+						if (c == -1)
+							break;
+						out.write(c);
+					}
+					assertTrue("window of " + window,
+							Arrays.equals(bytes, out.toByteArray()));
+				} finally {
+					in.close();
+				}
+				in = Internals.stream(path, window);
+				try {
+					assertEquals("window of " + window,
+							Converter.convert(json), new Parser().parse(in));
+				} finally {
+					in.close();
+				}
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+}
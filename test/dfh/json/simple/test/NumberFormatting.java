@@ -0,0 +1,88 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+
+/**
+ * Makes sure numbers written directly into the output read the same as their
+ * {@code toString()} values.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class NumberFormatting {
+
+	private static String expected(List<?> values) {
+		StringBuilder b = new StringBuilder("[");
+		for (Object o : values) {
+			if (b.length() > 1)
+				b.append(',');
+			b.append(o);
+		}
+		return b.append(']').toString();
+	}
+
+	@Test
+	public void integers() {
+		List<Number> l = Arrays.<Number> asList(0, -1, Integer.MIN_VALUE,
+				Long.MAX_VALUE, Long.MIN_VALUE, (short) -7, (byte) 12,
+				new BigInteger("123456789012345678901234567890"));
+		assertEquals(expected(l), Converter.convert(l));
+	}
+
+	@Test
+	public void doubles() {
+		List<Number> l = new ArrayList<Number>();
+		double[] fixed = { 0, -0.0, 0.001, 0.1, 0.3, 1.5, 19.99, 100, 1e6,
+				9999999.999, 0.0015, 1.0 / 3, Math.PI, 1e7, 1e-4, 1e300,
+				Double.MIN_VALUE, Double.MAX_VALUE, 123456.789e-5 };
+		for (double d : fixed) {
+			l.add(d);
+			l.add(-d);
+		}
+		Random r = new Random(15);
+		for (int i = 0; i < 20000; i++) {
+			switch (i % 3) {
+			case 0:
+				l.add(r.nextDouble());
+				break;
+			case 1:
+				l.add(r.nextInt(10000000) / 100.0);
+				break;
+			default:
+				l.add(Math.pow(10, r.nextDouble() * 12 - 4));
+			}
+		}
+		String json = Converter.convert(l);
+		String[] parts = json.substring(1, json.length() - 1).split(",");
+		for (int i = 0; i < parts.length; i++) {
+			double d = l.get(i).doubleValue();
+			assertEquals(d, Double.parseDouble(parts[i]), 0);
+			if (d != 0) // sign of zero is not preserved by the comparison
+				assertEquals(Double.toString(d).length(), parts[i].length());
+		}
+		assertEquals("[19.99,-0.0,0.001,1.0E7]", Converter.convert(Arrays
+				.<Number> asList(19.99, -0.0, 0.001, 1e7)));
+	}
+
+	@Test
+	public void others() {
+		List<Number> l = Arrays.<Number> asList(1.1f, -0.25f, 3e-10f,
+				new BigDecimal("1.50"), new BigDecimal("1E+400"));
+		assertEquals(expected(l), Converter.convert(l));
+		assertEquals("[0.1,2.5,1.0E-5]",
+				Converter.convert(new double[] { 0.1, 2.5, 1e-5 }));
+	}
+}
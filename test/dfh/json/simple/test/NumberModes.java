@@ -0,0 +1,138 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.LazyNumber;
+import dfh.json.simple.ParseOptions;
+import dfh.json.simple.ParseOptions.NumberMode;
+
+/**
+ * Tests the representations of numbers selectable via {@link ParseOptions}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class NumberModes {
+	private static final String JSON = "[0,-12,9223372036854775807,"
+			+ "-9223372036854775808,9223372036854775808,1.5,-2e-3,1E400]";
+
+	@Test
+	public void exact() {
+		List<?> l = (List<?>) Converter.convert(JSON, new ParseOptions());
+		assertEquals(new BigInteger("-12"), l.get(1));
+		assertEquals(new BigDecimal("1E400"), l.get(7));
+	}
+
+	@Test
+	public void fast() {
+		List<?> l = (List<?>) Converter.convert(JSON,
+				new ParseOptions().numbers(NumberMode.FAST));
+		assertEquals(Long.valueOf(0), l.get(0));
+		assertEquals(Long.valueOf(-12), l.get(1));
+		assertEquals(Long.MAX_VALUE, l.get(2));
+		assertEquals(Long.MIN_VALUE, l.get(3));
+		assertEquals(new BigInteger("9223372036854775808"), l.get(4));
+		assertEquals(1.5, l.get(5));
+		assertEquals(-0.002, l.get(6));
+		assertEquals(Double.POSITIVE_INFINITY, l.get(7));
+	}
+
+	@Test
+	public void lazy() {
+		List<?> l = (List<?>) Converter.convert(JSON,
+				new ParseOptions().numbers(NumberMode.LAZY));
+		for (Object o : l)
+			assertTrue(o instanceof LazyNumber);
+		LazyNumber n = (LazyNumber) l.get(4);
+		assertTrue(n.isIntegral());
+		assertEquals("9223372036854775808", n.toString());
+		assertEquals(new BigInteger("9223372036854775808"), n.value());
+		assertEquals(-12, ((Number) l.get(1)).intValue());
+		assertEquals(-0.002, ((Number) l.get(6)).doubleValue(), 0);
+		assertEquals(JSON, Converter.convert(l));
+	}
+
+	@Test
+	public void utf8() throws UnsupportedEncodingException {
+		for (NumberMode mode : NumberMode.values()) {
+			ParseOptions options = new ParseOptions().numbers(mode);
+			assertEquals(Converter.convert(JSON, options),
+					Converter.convertUTF8(JSON.getBytes("UTF-8"), 0,
+							JSON.length(), options));
+		}
+	}
+
+	@Test
+	public void grammar() {
+		for (NumberMode mode : NumberMode.values()) {
+			ParseOptions options = new ParseOptions().numbers(mode);
+			List<?> descent = (List<?>) Converter.convert(JSON, options);
+			List<?> grammar = (List<?>) Converter.convert(JSON,
+					options.engine(Converter.Engine.GRAMMAR));
+			assertEquals(descent, grammar);
+		}
+	}
+
+	@Test
+	public void concurrent() throws Exception {
+		StringBuilder b = new StringBuilder("[");
+		final List<String> texts = new ArrayList<String>();
+		for (int i = 0; i < 2000; i++) {
+			String t = i % 3 == 0 ? "-" + i + "." + i * 7919 + "e" + i % 50
+					: String.valueOf((long) i * i * i * i * 104729);
+			texts.add(t);
+			if (i > 0)
+				b.append(',');
+			b.append(t);
+		}
+		byte[] utf8 = b.append(']').toString().getBytes("UTF-8");
+		ParseOptions options = new ParseOptions().numbers(NumberMode.LAZY);
+		for (int round = 0; round < 20; round++) {
+			// a direct buffer, so the text is copied out of the buffer
+			ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length);
+			direct.put(utf8).flip();
+			final List<?> l = (List<?>) Converter.convert(direct, options);
+			final CountDownLatch start = new CountDownLatch(1);
+			final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+			Thread[] threads = new Thread[4];
+			for (int i = 0; i < threads.length; i++) {
+				final int offset = i;
+				threads[i] = new Thread() {
+					@Override
+					public void run() {
+						try {
+							start.await();
+							for (int j = 0; j < texts.size(); j++) {
+								int k = (j * 7 + offset * 500) % texts.size();
+								assertEquals(texts.get(k), l.get(k).toString());
+							}
+						} catch (Throwable t) {
+							failure.compareAndSet(null, t);
+						}
+					}
+				};
+				threads[i].start();
+			}
+			start.countDown();
+			for (Thread t : threads)
+				t.join();
+			if (failure.get() != null)
+				throw new AssertionError(failure.get());
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.Internals;
+import dfh.json.simple.JSONSimpleException;
+import dfh.json.simple.ParseOptions;
+
+/**
+ * Tests parsing long arrays on several threads.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class ParallelParsing {
+	private static final ParseOptions PARALLEL = new ParseOptions()
+			.parallel(1);
+
+	@BeforeClass
+	public static void pool() {
+		assertTrue("shared pool runs on one thread",
+				Internals.parallelism() >= 2);
+	}
+
+	/**
+	 * @return an array long enough to be split into many chunks, with
+	 *         brackets, braces, commas, and escaped quotes in its strings
+	 */
+	private static String records() {
+		StringBuilder b = new StringBuilder("[ ");
+		for (int i = 0; i < 20000; i++) {
+			if (i > 0)
+				b.append(" ,\n");
+			b.append("{\"id\":").append(i)
+					.append(",\"s\":\"a, [b] {c} \\\"d\\\\\",\"l\":[")
+					.append(i % 7).append(",{\"x\":[]}]}");
+		}
+		return b.append(" ]\n").toString();
+	}
+
+	@Test
+	public void same() throws UnsupportedEncodingException {
+		String json = records();
+		Object sequential = Converter.convert(json);
+		List<?> parallel = (List<?>) Converter.convert(json, PARALLEL);
+		assertEquals(20000, parallel.size());
+		assertEquals(sequential, parallel);
+		byte[] utf8 = json.getBytes("UTF-8");
+		assertEquals(sequential,
+				Converter.convertUTF8(utf8, 0, utf8.length, PARALLEL));
+		ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length);
+		direct.put(utf8).flip();
+		assertEquals(sequential, Converter.convert(direct, PARALLEL));
+	}
+
+	@Test
+	public void small() {
+		String[] docs = { "[]", " [ ] ", "[1]", "[1,[2,3],{\"a\":[4]}]",
+				"{\"a\":[1,2]}" };
+		for (String json : docs)
+			assertEquals(Converter.convert(json),
+					Converter.convert(json, PARALLEL));
+	}
+
+	@Test
+	public void errors() {
+		String json = records();
+		int middle = json.indexOf("{\"id\":10000");
+		String[] bad = { json.substring(0, middle) + "x" + json.substring(middle),
+				json.substring(0, middle) + "\"" + json.substring(middle),
+				json.trim() + "]", json.trim() + ",", json.replace(" ]\n", ",]"),
+				json.replace(" ]\n", " }\n") };
+		for (String b : bad) {
+			String expected = null;
+			try {
+				Converter.convert(b);
+				fail("sequential parsing accepted bad JSON");
+			} catch (JSONSimpleException e) {
+				expected = e.getMessage();
+			}
+			try {
+				Converter.convert(b, PARALLEL);
+				fail("parallel parsing accepted bad JSON");
+			} catch (JSONSimpleException e) {
+				assertEquals(expected, e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import dfh.json.simple.Internals;
+import dfh.json.simple.JSONSimpleException;
+import dfh.json.simple.SerializeOptions;
+import dfh.json.simple.Serializer;
+
+/**
+ * Tests serializing long lists on several threads.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class ParallelSerialization {
+
+	@BeforeClass
+	public static void pool() {
+		assertTrue("shared pool runs on one thread",
+				Internals.parallelism() >= 2);
+	}
+
+	private static List<Object> records() {
+		List<Object> list = new ArrayList<Object>();
+		for (int i = 0; i < 30000; i++) {
+			Map<String, Object> m = new LinkedHashMap<String, Object>();
+			m.put("id", i);
+			m.put("name", "record number " + i);
+			List<Object> l = new ArrayList<Object>();
+			l.add(i % 3 == 0 ? "a long enough string" : i);
+			m.put("one", l);
+			if (i % 5 == 0)
+				m.put("empty", new ArrayList<Object>());
+			list.add(i % 7 == 0 ? "s/" + i : m);
+		}
+		return list;
+	}
+
+	@Test
+	public void same() {
+		List<Object> list = records();
+		for (int indent = -1; indent < 3; indent++) {
+			SerializeOptions options = new SerializeOptions().indent(indent);
+			String expected = new Serializer(options).serialize(list);
+			Serializer parallel = new Serializer(options.parallel(1));
+			assertEquals(expected, parallel.serialize(list));
+			StringBuilder b = new StringBuilder();
+			parallel.serialize(list, b);
+			assertEquals(expected, b.toString());
+			assertEquals(expected,
+					parallel.serialize(new LinkedList<Object>(list)));
+		}
+	}
+
+	@Test
+	public void small() {
+		Serializer sequential = new Serializer(new SerializeOptions().indent(2)), parallel = new Serializer(
+				new SerializeOptions().indent(2).parallel(1));
+		List<Object> l = new ArrayList<Object>();
+		assertEquals(sequential.serialize(l), parallel.serialize(l));
+		l.add("a long enough string");
+		assertEquals(sequential.serialize(l), parallel.serialize(l));
+		l.add(1);
+		assertEquals(sequential.serialize(l), parallel.serialize(l));
+		LinkedHashSet<Object> set = new LinkedHashSet<Object>(l);
+		assertEquals(sequential.serialize(set), parallel.serialize(set));
+	}
+
+	@Test
+	public void failure() {
+		List<Object> list = records();
+		list.set(20000, new Object());
+		try {
+			new Serializer(new SerializeOptions().parallel(1)).serialize(list);
+			fail("serialized an Object");
+		} catch (JSONSimpleException e) {
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+
+/**
+ * Tests the layout of pretty output: alignment of keys and chains of single
+ * member containers.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class PrettyLayout {
+
+	@Test
+	public void keyPadding() {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("a\"", 1);
+		map.put("bb", 2);
+		map.put("a key longer than ten", 3);
+		assertEquals("{\n  \"a key longer than ten\" : 3,\n  \"a\\\"\" : 1,\n"
+				+ "  \"bb\" : 2\n}", Converter.convert(map, 2));
+	}
+
+	@Test
+	public void singletonChain() {
+		Object o = "a string long enough to be nontrivial";
+		for (int i = 0; i < 300; i++) {
+			List<Object> l = new ArrayList<Object>(1);
+			l.add(o);
+			o = l;
+		}
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("chain", o);
+		String json = Converter.convert(map, 1);
+		assertEquals(Converter.convert(Converter.convert(map)),
+				Converter.convert(json));
+		assertTrue(json.startsWith("{ \"chain\" : \n  [\n"));
+		assertTrue(json.endsWith("\n  ] }"));
+	}
+}
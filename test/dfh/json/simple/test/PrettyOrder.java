@@ -0,0 +1,64 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.SerializeOptions;
+import dfh.json.simple.Serializer;
+
+/**
+ * Tests {@link SerializeOptions#sortKeys(boolean)}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class PrettyOrder {
+
+	private static Map<Object, Object> map() {
+		Map<Object, Object> inner = new LinkedHashMap<Object, Object>();
+		inner.put("zeta", 1);
+		inner.put("alpha", new int[] { 1, 2 });
+		inner.put("mu", "a rather long string value");
+		Map<Object, Object> map = new LinkedHashMap<Object, Object>();
+		map.put("b", inner);
+		map.put("a", 2);
+		map.put("c", new Object[] { inner });
+		return map;
+	}
+
+	@Test
+	public void sorted() {
+		Map<Object, Object> map = map();
+		String expected = Converter.convert(map, 3);
+		assertEquals(expected,
+				new Serializer(new SerializeOptions().indent(3)).serialize(map));
+		assertEquals(expected, Converter.convert(
+				new TreeMap<Object, Object>(map), 3));
+		Map<Object, Object> numeric = new LinkedHashMap<Object, Object>();
+		numeric.put(10, "x");
+		numeric.put(9, "y");
+		assertEquals("{\n   \"9\"  : \"y\",\n   \"10\" : \"x\"\n}",
+				Converter.convert(numeric, 3));
+	}
+
+	@Test
+	public void unsorted() {
+		Map<Object, Object> map = map();
+		String json = new Serializer(new SerializeOptions().indent(3)
+				.sortKeys(false)).serialize(map);
+		assertEquals(Converter.convert((Map<?, ?>) Converter.convert(json)),
+				Converter.convert(map));
+		assertEquals(json.indexOf("\"b\""), json.indexOf('"'));
+		assertEquals("{ \"x\" : 1 }", new Serializer(new SerializeOptions()
+				.indent(3).sortKeys(false)).serialize(Converter
+				.convert("{\"x\":1}")));
+	}
+}
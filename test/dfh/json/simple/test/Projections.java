@@ -0,0 +1,121 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.JSONSimpleException;
+import dfh.json.simple.ParseOptions;
+import dfh.json.simple.ParseOptions.NumberMode;
+
+/**
+ * Tests {@link Converter#select(String, String...)}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class Projections {
+	private static final String JSON = "{\"meta\":{\"id\":7,\"a.b\":[true]},"
+			+ "\"items\":[{\"price\":1.5,\"x\":[1]},{\"price\":2},{}],"
+			+ "\"last\":null}";
+
+	@Test
+	public void pointers() {
+		Map<String, Object> m = Converter.select(JSON, "/meta/id",
+				"/items/1", "/last", "/nowhere", "/items/7/price");
+		assertEquals(new BigInteger("7"), m.get("/meta/id"));
+		assertEquals(Converter.convert("{\"price\":2}"), m.get("/items/1"));
+		assertTrue(m.containsKey("/last"));
+		assertFalse(m.containsKey("/nowhere"));
+		assertEquals(3, m.size());
+	}
+
+	@Test
+	public void paths() {
+		Map<String, Object> m = Converter.select(JSON, "$.meta.id",
+				"$.items[*].price", "$['meta']['a.b'][0]", "$.*.id", "$.items",
+				"$.items[0].x[0]");
+		assertEquals(new BigInteger("7"), m.get("$.meta.id"));
+		assertEquals(
+				Arrays.asList(new BigDecimal("1.5"), new BigInteger("2")),
+				m.get("$.items[*].price"));
+		assertEquals(Boolean.TRUE, m.get("$['meta']['a.b'][0]"));
+		assertEquals(Arrays.asList(new BigInteger("7")), m.get("$.*.id"));
+		assertEquals(3, ((List<?>) m.get("$.items")).size());
+		assertEquals(new BigInteger("1"), m.get("$.items[0].x[0]"));
+		assertEquals(Arrays.asList(m.keySet().toArray()),
+				Arrays.asList("$.meta.id", "$.items[*].price",
+						"$['meta']['a.b'][0]", "$.*.id", "$.items",
+						"$.items[0].x[0]"));
+	}
+
+	@Test
+	public void emptyWildcard() {
+		Map<String, Object> m = Converter.select(JSON, "$.nowhere[*]",
+				"$.items[*].nowhere", "$.meta.*.id", "$.items[*].price");
+		assertEquals(Arrays.asList(m.keySet().toArray()),
+				Arrays.asList("$.items[*].price"));
+	}
+
+	@Test
+	public void options() {
+		Map<String, Object> m = Converter.select(JSON,
+				new ParseOptions().numbers(NumberMode.FAST), "$.items[*].price");
+		assertEquals(Arrays.asList(1.5, 2L), m.get("$.items[*].price"));
+	}
+
+	@Test
+	public void whole() {
+		assertEquals(Converter.convert(JSON), Converter.select(JSON, "")
+				.get(""));
+	}
+
+	@Test
+	public void duplicateKeys() {
+		String json = "{\"a\":{\"b\":1},\"a\":{\"c\":2}}";
+		Map<String, Object> m = Converter.select(json, "$.a.b", "$.a.c", "$.*");
+		assertFalse(m.containsKey("$.a.b"));
+		assertEquals(new BigInteger("2"), m.get("$.a.c"));
+		assertEquals(Converter.convert("[{\"c\":2}]"), m.get("$.*"));
+		json = "{\"a\":1,\"b\":2,\"a\":3}";
+		assertEquals(Converter.convert("[3,2]"), Converter.select(json, "$.*")
+				.get("$.*"));
+	}
+
+	@Test
+	public void errors() {
+		String bad = JSON.replace("{}", "{,}");
+		String message = null;
+		try {
+			Converter.convert(bad);
+			fail("accepted " + bad);
+		} catch (JSONSimpleException e) {
+			message = e.getMessage();
+		}
+		try {
+			Converter.select(bad, "$.meta.id");
+			fail("accepted " + bad);
+		} catch (JSONSimpleException e) {
+			assertEquals(message, e.getMessage());
+		}
+		for (String path : new String[] { "$.", "$[x]", "$['a'", "meta" }) {
+			try {
+				Converter.select(JSON, path);
+				fail("accepted " + path);
+			} catch (JSONSimpleException e) {
+			}
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.JSONReader;
+import dfh.json.simple.JSONReader.Token;
+import dfh.json.simple.JSONSimpleException;
+
+/**
+ * Tests the streaming {@link JSONReader}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class PullParsing {
+
+	private static String big() {
+		StringBuilder b = new StringBuilder("{\"list\":[");
+		for (int i = 0; i < 500; i++) {
+			if (i > 0)
+				b.append(",\n");
+			b.append("{\"id\":").append(i).append(",\"x\":").append(i)
+					.append(".25e-1,\"s\":\"line\\n\\u00e9 ").append(i)
+					.append("\",\"b\":[true,false,null]}");
+		}
+		b.append("],\"end\":\"");
+		for (int i = 0; i < 300; i++)
+			b.append("long string ");
+		return b.append("\"}").toString();
+	}
+
+	@Test
+	public void tokens() {
+		JSONReader r = new JSONReader(
+				"{\"a\":[1,\"b\",true,false,null,{}],\"c\":-1.5}");
+		Token[] expected = { Token.START_OBJECT, Token.FIELD_NAME,
+				Token.START_ARRAY, Token.VALUE_NUMBER, Token.VALUE_STRING,
+				Token.VALUE_TRUE, Token.VALUE_FALSE, Token.VALUE_NULL,
+				Token.START_OBJECT, Token.END_OBJECT, Token.END_ARRAY,
+				Token.FIELD_NAME, Token.VALUE_NUMBER };
+		for (Token t : expected)
+			assertEquals(t, r.next());
+		assertEquals("-1.5", r.getText());
+		assertEquals(Token.END_OBJECT, r.next());
+		assertNull("end of document", r.next());
+	}
+
+	@Test
+	public void sameAsString() {
+		String json = big();
+		assertEquals(Converter.convert(json),
+				Converter.convert(new StringReader(json)));
+	}
+
+	@Test
+	public void smallBuffer() {
+		String json = big();
+		JSONReader r = new JSONReader(new StringReader(json), 1);
+		r.next();
+		assertEquals(Converter.convert(json), r.value());
+		assertNull(r.next());
+	}
+
+	@Test
+	public void inputStream() throws UnsupportedEncodingException {
+		String json = "[\"\u00e9\u0950\",1]";
+		assertEquals(Converter.convert(json),
+				Converter.convert(new ByteArrayInputStream(json
+						.getBytes("UTF-8"))));
+	}
+
+	@Test
+	public void skip() {
+		JSONReader r = new JSONReader("[{\"a\":[[],{\"b\":1}]},2]");
+		r.next();
+		r.next();
+		r.skipChildren();
+		assertEquals(Token.END_OBJECT, r.current());
+		r.next();
+		assertEquals("2", r.getText());
+	}
+
+	@Test
+	public void errors() {
+		String json = big();
+		String[] bad = { "", "[1,]", "{\"a\"1.0}", "[\"abc", "[] x", "[tru]",
+				"[\"\\q\"]", "[\"\\u\uFF10041\"]", "[-]",
+				json.substring(0, json.length() - 1),
+				json.replace("\"id\":499", "\"id\":49 9") };
+		for (String s : bad) {
+			String m1 = null, m2 = null;
+			try {
+				Converter.convert(s);
+				fail("accepted " + s);
+			} catch (JSONSimpleException e) {
+				m1 = e.getMessage();
+			}
+			try {
+				JSONReader r = new JSONReader(new StringReader(s), 100);
+				while (r.next() != null)
+					;
+				fail("accepted " + s);
+			} catch (JSONSimpleException e) {
+				m2 = e.getMessage();
+			}
+			assertEquals(m1, m2);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.JSONSimpleException;
+
+/**
+ * Tests reformatting JSON token by token with
+ * {@link Converter#compress(String)} and {@link Converter#pretty(String, int)}
+ * and their streaming counterparts.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class Reformatting {
+
+	@Test
+	public void verbatim() {
+		String json = "{ \"a\\u00e9/\" : [ 1e5, -0.50, \"\\/\\t\" ] }";
+		assertEquals("{\"a\\u00e9/\":[1e5,-0.50,\"\\/\\t\"]}",
+				Converter.compress(json));
+		json = "{\"\\/\":[1E+2]}";
+		assertEquals("{ \"\\/\" : [ 1E+2 ] }", Converter.pretty(json));
+	}
+
+	@Test
+	public void duplicateKeys() {
+		String json = "{\"b\":1,\"a\":2,\"b\":3}";
+		assertEquals(json, Converter.compress(json));
+		assertEquals("{\n \"a\" : 2,\n \"b\" : 3\n}", Converter.pretty(json, 1));
+	}
+
+	@Test
+	public void streaming() {
+		StringBuilder b = new StringBuilder("[\n");
+		for (int i = 0; i < 2000; i++) {
+			if (i > 0)
+				b.append(" ,\n");
+			b.append("{ \"k\\u0041\" : \"v\\n").append(i).append("\" }");
+		}
+		String json = b.append("\n]").toString();
+		StringWriter w = new StringWriter();
+		Converter.compress(new StringReader(json), w);
+		assertEquals(json.replaceAll("\\s+", ""), w.toString());
+		assertEquals(w.toString(), Converter.compress(json));
+		w = new StringWriter();
+		Converter.pretty(new StringReader(json), w, 2);
+		assertEquals(Converter.pretty(json, 2), w.toString());
+		assertTrue(w.toString().startsWith("[\n  { \"k\\u0041\" : \"v\\n0\" },"));
+	}
+
+	@Test
+	public void nestedArraysStream() throws IOException {
+		StringBuilder b = new StringBuilder("[[[");
+		for (int i = 0; i < 100000; i++)
+			b.append(i).append(',');
+		String json = b.append("0]],[]]").toString();
+		final int half = json.length() / 2;
+		final StringWriter w = new StringWriter();
+		// output written by the time half the input has been read
+		final int[] written = { -1 };
+		Reader r = new StringReader(json) {
+			private int read;
+
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				int n = super.read(cbuf, off, len);
+				read += Math.max(n, 0);
+				if (read > half && written[0] == -1)
+					written[0] = w.getBuffer().length();
+				return n;
+			}
+		};
+		Converter.pretty(r, w, 2);
+		String pretty = w.toString();
+		assertEquals(Converter.pretty(json, 2), pretty);
+		assertTrue(pretty.startsWith("[\n  \n  [\n    \n    [\n      0,\n"));
+		// the innermost array is not held until it is complete
+		assertTrue(written[0] > pretty.length() / 4);
+	}
+
+	@Test
+	public void layout() {
+		String json = "{\"list\":[[\"a long string\"]],\"b\":{}}";
+		Map<?, ?> o = (Map<?, ?>) Converter.convert(json);
+		for (int indent = -1; indent < 4; indent++)
+			assertEquals(Converter.convert(o, indent),
+					Converter.pretty(json, indent));
+	}
+
+	@Test
+	public void errors() {
+		String[] bad = { "[1,]", "{\"a\":1} x", "[\"\\x\"]" };
+		for (String json : bad) {
+			try {
+				Converter.compress(json);
+				fail("accepted " + json);
+			} catch (JSONSimpleException e) {
+				assertTrue(e.getMessage(),
+						e.getMessage().startsWith("parsing failed at offset"));
+			}
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.ParseOptions;
+import dfh.json.simple.ParseOptions.NumberMode;
+import dfh.json.simple.Parser;
+import dfh.json.simple.SerializeOptions;
+import dfh.json.simple.Serializer;
+
+/**
+ * Tests {@link Parser} and {@link Serializer}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class ReusableInstances {
+	private static String document(int i) {
+		return "{\"id\":" + i + ",\"name\":\"n\\u00e9\\\"" + i
+				+ "\",\"tags\":[\"a\\tb\",1.5,null,{\"deep\":[" + i + "]}]}";
+	}
+
+	@Test
+	public void sameAsConverter() throws Exception {
+		Parser p = new Parser();
+		Serializer s = new Serializer(), pretty = new Serializer(
+				new SerializeOptions().indent(3));
+		for (int i = 0; i < 10; i++) {
+			String json = document(i);
+			Object o = Converter.convert(json);
+			assertEquals(o, p.parse(json));
+			assertEquals(o, p.parseUTF8(json.getBytes("UTF-8")));
+			assertEquals(o, p.parse(new StringReader(json)));
+			Map<?, ?> m = (Map<?, ?>) o;
+			assertEquals(Converter.convert(m), s.serialize(m));
+			assertEquals(Converter.convert(m, 3), pretty.serialize(m));
+			StringWriter w = new StringWriter();
+			pretty.serialize(m, w);
+			assertEquals(Converter.convert(m, 3), w.toString());
+		}
+	}
+
+	@Test
+	public void options() {
+		ParseOptions options = new ParseOptions().numbers(NumberMode.FAST);
+		Parser p = new Parser(options);
+		options.numbers(NumberMode.EXACT);
+		assertEquals(NumberMode.FAST, p.options().numbers());
+		List<?> l = (List<?>) p.parse("[1,2.5]");
+		assertEquals(Arrays.asList(1L, 2.5), l);
+		assertEquals(l, p.parse(new StringReader("[1,2.5]")));
+		assertEquals("1", p.select("{\"a\":[1]}", "/a/0").get("/a/0")
+				.toString());
+		assertTrue(new Parser(new ParseOptions().lazy(true)).parse(
+				document(3)).equals(Converter.convert(document(3))));
+	}
+
+	@Test
+	public void collections() {
+		Serializer s = new Serializer();
+		assertEquals("[1,2]",
+				s.serialize(new LinkedHashSet<Integer>(Arrays.asList(1, 2))));
+		assertEquals("[1,2]", s.serialize(new int[] { 1, 2 }));
+	}
+
+	@Test
+	public void reentrant() {
+		final Serializer s = new Serializer();
+		final StringBuilder inner = new StringBuilder();
+		Map<String, Object> m = new LinkedHashMap<String, Object>();
+		m.put("a", new Object[] { "x" });
+		StringWriter w = new StringWriter() {
+			@Override
+			public void write(char[] cbuf, int off, int len) {
+				if (inner.length() == 0)
+					inner.append(s.serialize(Arrays.asList(1)));
+				super.write(cbuf, off, len);
+			}
+		};
+		s.serialize(m, w);
+		assertEquals("{\"a\":[\"x\"]}", w.toString());
+		assertEquals("[1]", inner.toString());
+	}
+
+	@Test
+	public void concurrent() throws Exception {
+		final Parser p = new Parser();
+		final Serializer s = new Serializer();
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < 8; t++) {
+				final int offset = t * 1000;
+				results.add(pool.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						for (int i = offset; i < offset + 1000; i++) {
+							String json = document(i);
+							Map<?, ?> m = (Map<?, ?>) p.parse(json);
+							if (!s.serialize(m).equals(
+									json.replace("\\u00e9", "\u00e9")))
+								return false;
+						}
+						return true;
+					}
+				}));
+			}
+			for (Future<Boolean> f : results)
+				assertTrue(f.get());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
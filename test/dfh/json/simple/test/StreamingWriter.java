@@ -0,0 +1,159 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.JSONSimpleException;
+import dfh.json.simple.JSONWriter;
+
+/**
+ * Tests serialization to {@link Appendable} destinations and
+ * {@link JSONWriter}.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class StreamingWriter {
+
+	private static Map<String, Object> big() {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		List<Object> list = new ArrayList<Object>();
+		for (int i = 0; i < 5000; i++) {
+			Map<String, Object> m = new LinkedHashMap<String, Object>();
+			m.put("id", i);
+			m.put("name", "item \"" + i + "\"");
+			m.put("tags", new Object[] { "a", null, true });
+			list.add(m);
+		}
+		map.put("items", list);
+		return map;
+	}
+
+	@Test
+	public void sameAsString() {
+		Map<String, Object> map = big();
+		for (int indent : new int[] { -1, 3 }) {
+			StringWriter w = new StringWriter();
+			Converter.convert(map, w, indent);
+			assertEquals(Converter.convert(map, indent), w.toString());
+		}
+	}
+
+	@Test
+	public void chunked() {
+		final int[] max = { 0 };
+		final StringBuilder all = new StringBuilder();
+		Writer w = new Writer() {
+			@Override
+			public void write(char[] cbuf, int off, int len) {
+				max[0] = Math.max(max[0], len);
+				all.append(cbuf, off, len);
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		List<Object> list = Arrays.asList(big(), big());
+		Converter.convert(list, w, -1);
+		assertEquals(Converter.convert(list), all.toString());
+		assertTrue("written in chunks", max[0] < all.length() / 10);
+	}
+
+	@Test
+	public void generator() throws IOException {
+		StringWriter sw = new StringWriter();
+		JSONWriter w = new JSONWriter(sw);
+		w.writeStartObject();
+		w.writeField("a", 1);
+		w.writeFieldName("b").writeStartArray();
+		w.writeNumber(2L).writeNumber(2.5).writeString("x/y").writeNull()
+				.writeBoolean(false).writeValue(new int[] { 1, 2 });
+		w.writeEndArray();
+		w.writeFieldName("c").writeStartObject().writeEndObject();
+		w.writeEndObject();
+		w.close();
+		assertEquals(
+				"{\"a\":1,\"b\":[2,2.5,\"x\\/y\",null,false,[1,2]],\"c\":{}}",
+				sw.toString());
+	}
+
+	@Test
+	public void numbers() throws IOException {
+		double[] doubles = { 0.1, -0.0, 1e-5, 123456.789, 1e7, 1e21,
+				Double.MIN_VALUE, Long.MAX_VALUE };
+		StringBuilder b = new StringBuilder();
+		JSONWriter w = new JSONWriter(b).writeStartArray();
+		StringBuilder expected = new StringBuilder("[");
+		for (double d : doubles) {
+			w.writeNumber(d);
+			expected.append(Double.toString(d)).append(',');
+		}
+		w.writeNumber(0.1f).writeNumber(Integer.MIN_VALUE).writeEndArray();
+		w.close();
+		expected.append("0.1,").append(Integer.MIN_VALUE).append(']');
+		assertEquals(expected.toString(), b.toString());
+		for (Object n : new Object[] { Double.NaN, Float.POSITIVE_INFINITY }) {
+			try {
+				w = new JSONWriter(new StringBuilder());
+				if (n instanceof Double)
+					w.writeNumber(((Double) n).doubleValue());
+				else
+					w.writeNumber(((Float) n).floatValue());
+				fail("wrote " + n);
+			} catch (JSONSimpleException e) {
+			}
+		}
+	}
+
+	@Test
+	public void utf8() throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		JSONWriter w = new JSONWriter(baos);
+		w.writeStartArray().writeString("éॐ").writeEndArray();
+		w.close();
+		assertEquals("[\"éॐ\"]", baos.toString("UTF-8"));
+	}
+
+	@Test
+	public void misuse() {
+		JSONWriter w = new JSONWriter(new StringBuilder());
+		w.writeStartObject();
+		try {
+			w.writeNumber(1L);
+			fail("value without field name");
+		} catch (JSONSimpleException e) {
+		}
+		try {
+			w.writeEndArray();
+			fail("mismatched end");
+		} catch (JSONSimpleException e) {
+		}
+		w.writeEndObject();
+		try {
+			w.writeStartArray();
+			fail("second root value");
+		} catch (JSONSimpleException e) {
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.JSONSimpleException;
+
+/**
+ * Tests decoding JSON arrays directly into basic type arrays.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class TypedArrays {
+
+	@Test
+	public void ints() {
+		assertArrayEquals(new int[] { 0, -1, 2147483647, -2147483648 },
+				Converter.toIntArray(" [0, -1,2147483647,-2147483648] "));
+		assertArrayEquals(new int[0], Converter.toIntArray("[]"));
+	}
+
+	@Test
+	public void longs() {
+		int[] ints = new int[100];
+		StringBuilder b = new StringBuilder("[");
+		for (int i = 0; i < ints.length; i++) {
+			ints[i] = i * 7;
+			if (i > 0)
+				b.append(',');
+			b.append(i * 7);
+		}
+		b.append(']');
+		assertArrayEquals(ints, Converter.toIntArray(b.toString()));
+		assertArrayEquals(new long[] { Long.MAX_VALUE, Long.MIN_VALUE },
+				Converter.toLongArray("[" + Long.MAX_VALUE + ","
+						+ Long.MIN_VALUE + "]"));
+	}
+
+	@Test
+	public void doubles() {
+		Random r = new Random(6);
+		double[] ds = new double[1000];
+		StringBuilder b = new StringBuilder("[");
+		for (int i = 0; i < ds.length; i++) {
+			switch (i % 4) {
+			case 0:
+				ds[i] = r.nextDouble();
+				break;
+			case 1:
+				ds[i] = r.nextInt(100000) / 100.0;
+				break;
+			case 2:
+				ds[i] = -r.nextGaussian() * 1e200;
+				break;
+			default:
+				ds[i] = r.nextInt();
+			}
+			if (i > 0)
+				b.append(',');
+			b.append(ds[i]);
+		}
+		b.append(",1,-0.0,1E3,2.5e-3]");
+		double[] parsed = Converter.toDoubleArray(b.toString());
+		assertEquals(ds.length + 4, parsed.length);
+		for (int i = 0; i < ds.length; i++)
+			assertEquals(Double.doubleToLongBits(ds[i]),
+					Double.doubleToLongBits(parsed[i]));
+		assertArrayEquals(new double[] { 1, -0.0, 1000, 0.0025 },
+				new double[] { parsed[ds.length], parsed[ds.length + 1],
+						parsed[ds.length + 2], parsed[ds.length + 3] }, 0);
+	}
+
+	@Test
+	public void nested() {
+		String json = "{\"meta\":{\"a/b\":[1,2]},\"data\":[{\"v\":[\"x\"]},"
+				+ "{\"v\":[3,4,5]}],\"v\":[1]}";
+		assertArrayEquals(new int[] { 3, 4, 5 },
+				Converter.toIntArray(json, "/data/1/v"));
+		assertArrayEquals(new long[] { 1, 2 },
+				Converter.toLongArray(json, "/meta/a~1b"));
+	}
+
+	@Test
+	public void failures() {
+		String[] bad = { "[1,2.5]", "[2147483648]", "[1,\"2\"]", "[1,null]",
+				"{\"a\":1}", "[1,]" };
+		String[] messages = { "integer expected at offset 3",
+				"integer out of range at offset 1",
+				"number expected at offset 3", "number expected at offset 3",
+				"no array at", "parsing failed at offset 3" };
+		for (int i = 0; i < bad.length; i++) {
+			try {
+				Converter.toIntArray(bad[i], i == 4 ? "/b" : "");
+				fail("accepted " + bad[i]);
+			} catch (JSONSimpleException e) {
+				assertTrue(e.getMessage(),
+						e.getMessage().startsWith(messages[i]));
+			}
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package dfh.json.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import dfh.json.simple.Converter;
+import dfh.json.simple.JSONSimpleException;
+
+/**
+ * Makes sure parsing UTF-8 bytes directly gives the same results as parsing
+ * the decoded string.
+ * <p>
+ * <b>Creation date:</b> Oct 18, 2026
+ *
+ * @author David Houghton
+ *
+ */
+public class Utf8Parsing {
+
+	private static final String[] GOOD = {
+			"{\"a\":1,\"b\":-0.5e+3,\"c\":[true,false,null],\"d\":{}}",
+			"[\"\\r\\n\\t\\b\\f\\\\\\/\\\"\",\"\\u0950x\",\"plain\"]",
+			"{\"\u00e9t\u00e9\":[\"\u0950\\n\u00df\",\"\ud83d\ude00\"]}", };
+
+	@Test
+	public void bytes() throws IOException {
+		for (String json : GOOD) {
+			byte[] bytes = json.getBytes("UTF-8");
+			assertEquals(Converter.convert(json), Converter.convertUTF8(bytes));
+		}
+	}
+
+	@Test
+	public void slice() throws IOException {
+		byte[] bytes = "xx[\"\u00e9\"]yy".getBytes("UTF-8");
+		assertEquals(Converter.convert("[\"\u00e9\"]"),
+				Converter.convertUTF8(bytes, 2, bytes.length - 4));
+	}
+
+	@Test
+	public void buffers() throws IOException {
+		for (String json : GOOD) {
+			byte[] bytes = json.getBytes("UTF-8");
+			ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+			direct.put(bytes).flip();
+			assertEquals(Converter.convert(json), Converter.convert(direct));
+			assertEquals("position unchanged", 0, direct.position());
+			assertEquals(Converter.convert(json),
+					Converter.convert(ByteBuffer.wrap(bytes)));
+		}
+	}
+
+	@Test
+	public void problemUnicode() throws IOException {
+		InputStream is = Utf8Parsing.class.getClassLoader()
+				.getResourceAsStream("problem_unicode.txt");
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		baos.write("[\"".getBytes("UTF-8"));
+		byte[] buf = new byte[1024];
+		int i;
+		while ((i = is.read(buf)) > -1)
+			baos.write(buf, 0, i);
+		String s = new String(baos.toByteArray(), "UTF-8").trim();
+		byte[] bytes = (s + "\"]").getBytes("UTF-8");
+		assertEquals(Converter.convert(s + "\"]"),
+				Converter.convertUTF8(bytes));
+	}
+
+	@Test
+	public void errors() throws IOException {
+		String[] bad = { "[\"\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\",x,\"\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\u0950\"]",
+				"{\"\ud83d\ude00\"1}", "[\"\u00e9" };
+		for (String s : bad) {
+			String m1 = null, m2 = null;
+			try {
+				Converter.convert(s);
+				fail("accepted " + s);
+			} catch (JSONSimpleException e) {
+				m1 = e.getMessage();
+			}
+			try {
+				Converter.convertUTF8(s.getBytes("UTF-8"));
+				fail("accepted " + s);
+			} catch (JSONSimpleException e) {
+				m2 = e.getMessage();
+			}
+			assertEquals(m1, m2);
+		}
+	}
+}